@@ -50,8 +50,7 @@ public class ConsoleToDoApp {
     
     private static void addNewTask() {
         if (getDescriptionForTask()) {
-            todo.add(new Task(userInput));
-            jsonFileIO.write(todo);
+            jsonFileIO.addTask(todo, new Task(userInput));
         }
     }
     
@@ -6,6 +6,7 @@ import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import model.DueDate;
+import model.Priority;
 import model.Status;
 import model.Tag;
 import model.Task;
@@ -133,6 +134,7 @@ public class EditTaskController implements Initializable {
         saveStatus();
         savePriority();
         saveTags();
+        jsonFileIO.updateTask(taskList, task);
         Logger.log("EditTaskController", "Save task:\n" + task);
         PomoTodoApp.setScene(new ListView(taskList));
     }
@@ -186,15 +188,17 @@ public class EditTaskController implements Initializable {
     // REQUIRES: task != null
     private void savePriority() {
         Logger.log("EditTaskController", "Save priority");
-        task.getPriority().setImportant(isImportantBox.isSelected());
-        task.getPriority().setUrgent(isUrgentBox.isSelected());
+        Priority priority = new Priority();
+        priority.setImportant(isImportantBox.isSelected());
+        priority.setUrgent(isUrgentBox.isSelected());
+        task.setPriority(priority); // replaced rather than changed in place, so that the task store is notified
     }
 
     @FXML
     public void cancelEditTask() {
         Logger.log("EditTaskController", "Edit Task cancelled.");
         Logger.log("EditTaskController", "Close application");
-        PomoTodoApp.setScene(new ListView(jsonFileIO.read()));
+        PomoTodoApp.setScene(new ListView(PomoTodoApp.getTasks()));
         //Platform.exit();
     }
 
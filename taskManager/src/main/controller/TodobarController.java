@@ -11,6 +11,7 @@ import javafx.fxml.Initializable;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.StackPane;
+import model.Status;
 import model.Task;
 import ui.AddTask;
 import ui.EditTask;
@@ -131,12 +132,10 @@ public class TodobarController implements Initializable {
             switch (selectedIndex) {
                 case 0:
                     PomoTodoApp.setScene(new EditTask(task));
-                    jsonFileIO.write(taskList);
                     Logger.log("TodobarActionsPopUpController", "Edited!");
                     break;
                 case 1:
-                    taskList.remove(task);
-                    jsonFileIO.write(taskList);
+                    jsonFileIO.removeTask(taskList, task);
                     PomoTodoApp.setScene(new ListView(taskList));
                     Logger.log("TodobarActionsPopUpController", "Deleted!");
                     break;
@@ -156,13 +155,13 @@ public class TodobarController implements Initializable {
         private void submit() {
             int selectedIndex = actionPopUpList.getSelectionModel().getSelectedIndex();
             switch (selectedIndex) {
-                case 0: Logger.log("TodobarActionsPopUpController", "To Do not supported");
+                case 0: setStatus(Status.TODO);
                     break;
-                case 1: Logger.log("TodobarActionsPopUpController", "Up Next not supported");
+                case 1: setStatus(Status.UP_NEXT);
                     break;
-                case 2: Logger.log("TodobarActionsPopUpController", "In Progress not supported");
+                case 2: setStatus(Status.IN_PROGRESS);
                     break;
-                case 3: Logger.log("TodobarActionsPopUpController", "Done not supported");
+                case 3: setStatus(Status.DONE);
                     break;
                 case 4: Logger.log("TodobarActionsPopUpController", "Pomodoro not supported");
                     break;
@@ -170,6 +169,14 @@ public class TodobarController implements Initializable {
             }
             todoActionPopUp.hide();
         }
+
+        // MODIFIES: task
+        // EFFECTS: sets the status of task and records the change
+        private void setStatus(Status status) {
+            task.setStatus(status);
+            jsonFileIO.updateStatus(taskList, task);
+            Logger.log("TodobarActionsPopUpController", "Status set to " + status);
+        }
     }
 
 }
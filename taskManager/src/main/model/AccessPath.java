@@ -0,0 +1,66 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+// A way of reading the tasks that may match a query from a TaskStore: a scan of the store or a lookup in one of
+// its indexes. It records the terms of the query that every task it reads is known to match, and the estimated
+// cost of reading the tasks: the work done before the first task is read, plus one unit per task read.
+class AccessPath {
+    private String description;
+    private long estimatedRows;
+    private long setupCost;
+    private Supplier<Collection<Task>> reader;
+    private List<TaskQuery> covered;
+
+    // EFFECTS: constructs a path described by description that reads the tasks supplied by reader, about
+    //     estimatedRows of them after setupCost units of work, all of which match the terms in covered
+    AccessPath(String description, long estimatedRows, long setupCost, Supplier<Collection<Task>> reader,
+               List<TaskQuery> covered) {
+        this.description = description;
+        this.estimatedRows = estimatedRows;
+        this.setupCost = setupCost;
+        this.reader = reader;
+        this.covered = new ArrayList<>(covered);
+    }
+
+    // EFFECTS: returns a path that reads every task of store
+    static AccessPath scan(TaskStore store) {
+        return new AccessPath("scan", store.size(), 0, () -> store, new ArrayList<>());
+    }
+
+    String getDescription() {
+        return description;
+    }
+
+    long getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    // EFFECTS: returns the estimated cost of reading the tasks of this path
+    long getCost() {
+        return setupCost + estimatedRows;
+    }
+
+    // EFFECTS: returns the tasks read by this path
+    Collection<Task> read() {
+        return reader.get();
+    }
+
+    // EFFECTS: returns true if every task read by this path matches term
+    boolean covers(TaskQuery term) {
+        for (TaskQuery t : covered) {
+            if (t == term) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: returns the terms that every task read by this path matches
+    List<TaskQuery> getCovered() {
+        return covered;
+    }
+}
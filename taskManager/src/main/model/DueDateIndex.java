@@ -0,0 +1,199 @@
+package model;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Index of tasks by the time they are due, answering the questions of DueDate (is a task overdue, due today,
+// due tomorrow or due within a week) as range queries. The boundaries of today, tomorrow and the coming week are
+// computed once per day, the first time the index is queried after midnight.
+public class DueDateIndex {
+    private static final int DAYS_PER_WEEK = 7;
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private Clock clock;
+    private NavigableMap<Long, Set<Task>> byDueTime;
+    private NavigableMap<Long, int[]> countsByDay;  // number of tasks due on each UTC day that has any
+    private int size;
+    private long startOfToday;
+    private long startOfTomorrow;
+    private long startOfDayAfterTomorrow;
+    private long startOfNextWeek;
+
+    // EFFECTS: constructs an empty index whose days are those of the system clock in the default time zone
+    public DueDateIndex() {
+        this(Clock.systemDefaultZone());
+    }
+
+    // EFFECTS: constructs an empty index whose days are those of clock in the time zone of clock
+    public DueDateIndex(Clock clock) {
+        this.clock = clock;
+        byDueTime = new TreeMap<>();
+        countsByDay = new TreeMap<>();
+        startOfTomorrow = Long.MIN_VALUE;
+    }
+
+    // EFFECTS: returns an iterator over the tasks that are due before now, by due date
+    public Iterator<Task> overdue() {
+        return new DueTimeView(byDueTime.headMap(clock.millis(), false)).iterator();
+    }
+
+    // EFFECTS: returns an iterator over the tasks that are due today, by due date
+    public Iterator<Task> dueToday() {
+        updateBoundaries();
+        return range(startOfToday, startOfTomorrow).iterator();
+    }
+
+    // EFFECTS: returns an iterator over the tasks that are due tomorrow, by due date
+    public Iterator<Task> dueTomorrow() {
+        updateBoundaries();
+        return range(startOfTomorrow, startOfDayAfterTomorrow).iterator();
+    }
+
+    // EFFECTS: returns an iterator over the tasks that are due today or in the 6 days after today, by due date
+    // Note: unlike DueDate.isDueWithinAWeek, the week may extend into the next year
+    public Iterator<Task> dueWithinAWeek() {
+        updateBoundaries();
+        return range(startOfToday, startOfNextWeek).iterator();
+    }
+
+    // EFFECTS: returns an unmodifiable view of the tasks due at or after from and before to (in milliseconds since
+    //     the epoch), by due date; its size takes time proportional to the number of distinct due times in the range
+    public Collection<Task> range(long from, long to) {
+        return new DueTimeView(byDueTime.subMap(from, true, to, false));
+    }
+
+    // EFFECTS: returns an unmodifiable view of the tasks due before time, by due date
+    public Collection<Task> before(long time) {
+        return new DueTimeView(byDueTime.headMap(time, false));
+    }
+
+    // EFFECTS: returns the number of tasks in this index
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns an estimate of the number of tasks due at or after from and before to: the number of tasks
+    //     due on the (UTC) days that overlap the range, which is exact for ranges of whole days; takes time
+    //     proportional to the number of those days that have tasks due
+    public int estimateCount(long from, long to) {
+        if (from >= to) {
+            return 0;
+        }
+        int count = 0;
+        for (int[] dayCount : countsByDay.subMap(dayOf(from), true, dayOf(to - 1), true).values()) {
+            count += dayCount[0];
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds task to the tasks due at dueTime
+    void add(Task task, long dueTime) {
+        if (byDueTime.computeIfAbsent(dueTime, key -> new LinkedIdentitySet<>()).add(task)) {
+            countsByDay.computeIfAbsent(dayOf(dueTime), day -> new int[1])[0]++;
+            size++;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes task from the tasks due at dueTime
+    void remove(Task task, long dueTime) {
+        Set<Task> sameDueTime = byDueTime.get(dueTime);
+        if (sameDueTime != null && sameDueTime.remove(task)) {
+            if (sameDueTime.isEmpty()) {
+                byDueTime.remove(dueTime);
+            }
+            if (--countsByDay.get(dayOf(dueTime))[0] == 0) {
+                countsByDay.remove(dayOf(dueTime));
+            }
+            size--;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every task from this index
+    void clear() {
+        byDueTime.clear();
+        countsByDay.clear();
+        size = 0;
+    }
+
+    // EFFECTS: returns the number of whole (UTC) days from the epoch to time
+    private static long dayOf(long time) {
+        return Math.floorDiv(time, MILLIS_PER_DAY);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: recomputes the day boundaries if the clock is no longer in the day they were computed for
+    private void updateBoundaries() {
+        long now = clock.millis();
+        if (now >= startOfToday && now < startOfTomorrow) {
+            return;
+        }
+        LocalDate today = LocalDate.now(clock);
+        startOfToday = startOf(today);
+        startOfTomorrow = startOf(today.plusDays(1));
+        startOfDayAfterTomorrow = startOf(today.plusDays(2));
+        startOfNextWeek = startOf(today.plusDays(DAYS_PER_WEEK));
+    }
+
+    // EFFECTS: returns the first millisecond of day in the time zone of the clock
+    private long startOf(LocalDate day) {
+        return day.atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    // An unmodifiable view of the tasks in a range of due times
+    private static class DueTimeView extends AbstractCollection<Task> {
+        private NavigableMap<Long, Set<Task>> range;
+
+        DueTimeView(NavigableMap<Long, Set<Task>> range) {
+            this.range = range;
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (Set<Task> sameDueTime : range.values()) {
+                size += sameDueTime.size();
+            }
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return range.isEmpty();
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            return new Iterator<Task>() {
+                private Iterator<Set<Task>> dueTimes = range.values().iterator();
+                private Iterator<Task> sameDueTime = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!sameDueTime.hasNext() && dueTimes.hasNext()) {
+                        sameDueTime = dueTimes.next().iterator();
+                    }
+                    return sameDueTime.hasNext();
+                }
+
+                @Override
+                public Task next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return sameDueTime.next();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package model;
+
+import java.util.AbstractSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// A set that compares its elements by identity and iterates over them in the order they were added.
+// Adding, removing and finding an element take constant time.
+class LinkedIdentitySet<E> extends AbstractSet<E> {
+    private Map<E, Node<E>> nodes;
+    private Node<E> head;
+    private Node<E> tail;
+
+    // EFFECTS: constructs an empty set
+    LinkedIdentitySet() {
+        nodes = new IdentityHashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return nodes.containsKey(o);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds e after the last element of this set, unless e is already in this set
+    @Override
+    public boolean add(E e) {
+        if (nodes.containsKey(e)) {
+            return false;
+        }
+        Node<E> node = new Node<>(e);
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+            node.previous = tail;
+        }
+        tail = node;
+        nodes.put(e, node);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        Node<E> node = nodes.remove(o);
+        if (node == null) {
+            return false;
+        }
+        if (node.previous == null) {
+            head = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        nodes.clear();
+        head = null;
+        tail = null;
+    }
+
+    // EFFECTS: returns an iterator over the elements of this set in the order they were added
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node<E> next = head;
+            private Node<E> lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public E next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                lastReturned = next;
+                next = next.next;
+                return lastReturned.element;
+            }
+
+            @Override
+            public void remove() {
+                if (lastReturned == null) {
+                    throw new IllegalStateException();
+                }
+                LinkedIdentitySet.this.remove(lastReturned.element);
+                lastReturned = null;
+            }
+        };
+    }
+
+    // An element, linked to the elements added before and after it
+    private static class Node<E> {
+        private E element;
+        private Node<E> previous;
+        private Node<E> next;
+
+        Node(E element) {
+            this.element = element;
+        }
+    }
+}
@@ -3,11 +3,24 @@ package model;
 import model.exceptions.NullArgumentException;
 
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 // Represents a Project, a collection of zero or more Tasks
 // Class Invariant: no duplicated task; order of tasks is preserved
+// The tasks of a small project are kept in a list. Once a project has LARGE_PROJECT_SIZE tasks, they are moved to
+// a set that is indexed by hash code and keeps their order, so that adding, removing and finding a task take
+// constant time; the project then observes its tasks to keep the index up to date as they are edited.
 public class Project extends Todo implements Iterable<Todo> {
-    private List<Todo> tasks;
+    public static final int LARGE_PROJECT_SIZE = 64;
+    private static final int NUM_PRIORITY_LEVELS = 4;
+    private static final int SPLITERATOR_CHARACTERISTICS =
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+
+    private Collection<Todo> tasks;
+    private TaskObserver rehasher;
+    private int totalProgress;  // sum of the progress of the tasks and sub-projects in this project
+    private int totalHours;     // sum of their estimated time to complete
 
     // MODIFIES: this
     // EFFECTS: constructs a project with the given description
@@ -18,24 +31,97 @@ public class Project extends Todo implements Iterable<Todo> {
         tasks = new ArrayList<>();
     }
 
-    // MODIFIES: this
+    // MODIFIES: this, task, and the projects that contain this project
     // EFFECTS: task is added to this project (if it was not already part of it)
+    //     and the progress and estimated time to complete of this project and its ancestors are updated
     //   throws NullArgumentException when task is null
     public void add(Todo task) {
         if (!contains(task) && !task.equals(this)) {
+            int progressBefore = getProgress();
             tasks.add(task);
+            if (rehasher != null) {
+                observe(task);
+            } else if (tasks.size() >= LARGE_PROJECT_SIZE) {
+                indexTasks();
+            }
+            task.addParent(this);
+            totalProgress += task.getProgress();
+            totalHours += task.getEstimatedTimeToComplete();
+            propagateToParents(getProgress() - progressBefore, task.getEstimatedTimeToComplete());
         }
     }
 
-    // MODIFIES: this
+    // MODIFIES: this, task, and the projects that contain this project
     // EFFECTS: removes task from this project
+    //     and the progress and estimated time to complete of this project and its ancestors are updated
     //   throws NullArgumentException when task is null
     public void remove(Todo task) {
-        if (contains(task)) {
-            tasks.remove(task);
+        Todo removed = find(task);
+        if (removed != null) {
+            int progressBefore = getProgress();
+            tasks.remove(removed);
+            if (rehasher != null && removed instanceof Task) {
+                ((Task) removed).removeObserver(rehasher);
+            }
+            removed.removeParent(this);
+            totalProgress -= removed.getProgress();
+            totalHours -= removed.getEstimatedTimeToComplete();
+            propagateToParents(getProgress() - progressBefore, -removed.getEstimatedTimeToComplete());
         }
     }
 
+    // EFFECTS: returns the task (or sub-project) in this project that is equal to task, or null if there is none
+    //   throws NullArgumentException when task is null
+    private Todo find(Todo task) {
+        if (task == null) {
+            throw new NullArgumentException("Illegal argument: task is null");
+        }
+        if (rehasher != null) {
+            return ((TodoSet) tasks).get(task);
+        }
+        for (Todo todo : tasks) {
+            if (todo.equals(task)) {
+                return todo;
+            }
+        }
+        return null;
+    }
+
+    // MODIFIES: this, and every task in this project
+    // EFFECTS: moves the tasks of this project to a set indexed by hash code, and starts observing them
+    private void indexTasks() {
+        TodoSet indexed = new TodoSet();
+        rehasher = (task, field, previous) -> {
+            if (field != TaskField.PROGRESS && field != TaskField.ESTIMATED_TIME && field != TaskField.TAGS) {
+                indexed.rehash(task);
+            }
+        };
+        for (Todo todo : tasks) {
+            indexed.add(todo);
+            observe(todo);
+        }
+        tasks = indexed;
+    }
+
+    // MODIFIES: todo
+    // EFFECTS: starts keeping the index of this project up to date as todo is edited, if todo is a task
+    //     (projects are equal by description, which does not change)
+    private void observe(Todo todo) {
+        if (todo instanceof Task) {
+            ((Task) todo).addObserver(rehasher);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds progressDelta and hoursDelta to the totals of the tasks and sub-projects in this project;
+    //     returns the resulting change of the progress of this project
+    int addToTotals(int progressDelta, int hoursDelta) {
+        int progressBefore = getProgress();
+        totalProgress += progressDelta;
+        totalHours += hoursDelta;
+        return getProgress() - progressBefore;
+    }
+
     // EFFECTS: returns the description of this project
     public String getDescription() {
         return description;
@@ -51,18 +137,12 @@ public class Project extends Todo implements Iterable<Todo> {
     //     the percentage of completion (rounded down to the nearest integer).
     //     the value returned is the average of the percentage of completion of
     //     all the tasks and sub-projects in this project.
+    //     It is kept up to date as tasks and sub-projects change, so it takes constant time.
     public int getProgress() {
-        int taskCompletion = 0;
-
         if (getNumberOfTasks() == 0) {
             return 0;
         }
-
-        for (Todo todo : tasks) {
-            taskCompletion += todo.getProgress();
-        }
-
-        return taskCompletion / getNumberOfTasks();
+        return totalProgress / getNumberOfTasks();
     }
 
     // EFFECTS: returns the number of tasks (and sub-projects) in this project
@@ -70,6 +150,12 @@ public class Project extends Todo implements Iterable<Todo> {
         return tasks.size();
     }
 
+    // EFFECTS: returns the tasks and sub-projects in this project, in the order they were added; the collection
+    //     must not be modified
+    Collection<Todo> getChildren() {
+        return tasks;
+    }
+
     // EFFECTS: returns true if every task (and sub-project) in this project is completed, and false otherwise
     //     If this project has no tasks (or sub-projects), return false.
     public boolean isCompleted() {
@@ -77,24 +163,16 @@ public class Project extends Todo implements Iterable<Todo> {
     }
 
     // EFFECTS: returns time to complete all tasks in project
+    //     It is kept up to date as tasks and sub-projects change, so it takes constant time.
     @Override
     public int getEstimatedTimeToComplete() {
-        int totalTime = 0;
-
-        for (Todo todo : tasks) {
-            totalTime += todo.getEstimatedTimeToComplete();
-        }
-
-        return totalTime;
+        return totalHours;
     }
 
     // EFFECTS: returns true if this project contains the task
     //   throws NullArgumentException when task is null
     public boolean contains(Todo task) {
-        if (task == null) {
-            throw new NullArgumentException("Illegal argument: task is null");
-        }
-        return tasks.contains(task);
+        return find(task) != null;
     }
 
     @Override
@@ -111,7 +189,7 @@ public class Project extends Todo implements Iterable<Todo> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(description);
+        return 31 + Objects.hashCode(description);
     }
 
     @Override
@@ -119,30 +197,65 @@ public class Project extends Todo implements Iterable<Todo> {
         return new TodoIterator();
     }
 
-    // EFFECTS: inner iterator class
+    // EFFECTS: returns a spliterator over the to-dos of this project in the same (priority) order as iterator().
+    //     It covers the to-dos the project has when it is created, and splits evenly into sized halves.
+    @Override
+    public Spliterator<Todo> spliterator() {
+        return Spliterators.spliterator(inPriorityOrder(), SPLITERATOR_CHARACTERISTICS);
+    }
+
+    // EFFECTS: returns a spliterator over the to-dos of this project in the order they were added.
+    //     It covers the to-dos the project has when it is created, and splits evenly into sized halves.
+    public Spliterator<Todo> insertionOrderSpliterator() {
+        return Spliterators.spliterator(tasks.toArray(), SPLITERATOR_CHARACTERISTICS);
+    }
+
+    // EFFECTS: returns a sequential stream of the to-dos of this project, in priority order
+    public Stream<Todo> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // EFFECTS: returns a parallel stream of the to-dos of this project, in priority order
+    public Stream<Todo> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    // EFFECTS: returns the to-dos of this project ordered by priority level, from important & urgent to default,
+    //     keeping the order they were added in within a level; sorted by a stable counting sort on the levels
+    private Todo[] inPriorityOrder() {
+        byte[] levels = new byte[tasks.size()];
+        int[] starts = new int[NUM_PRIORITY_LEVELS + 1];
+        int i = 0;
+        for (Todo todo : tasks) {
+            levels[i] = (byte) Todo.priorityLevel(todo.getPriority());
+            starts[levels[i++]]++;
+        }
+        for (int level = 1; level <= NUM_PRIORITY_LEVELS; level++) {
+            starts[level] += starts[level - 1];
+        }
+        Todo[] order = new Todo[levels.length];
+        i = 0;
+        for (Todo todo : tasks) {
+            order[starts[levels[i++] - 1]++] = todo;
+        }
+        return order;
+    }
+
+    // EFFECTS: inner iterator class; returns the to-dos of each priority level in turn, from important & urgent
+    //          to default, keeping the order they were added in within a level. The order is computed once,
+    //          when the iterator is constructed.
     private class TodoIterator implements Iterator<Todo> {
-        private int size;
-        private int currentIndex;
-        private int currentPriority;
-        private int numPriority;
-        private Boolean moveToNextPriority;
-        private Todo someTodo;
-        private int sizeEachIteration;
+        private Todo[] order;
+        private int next;
 
         public TodoIterator() {
-            size = tasks.size();
-            currentIndex = 0;
-            currentPriority = 1;
-            numPriority = 0;
-            moveToNextPriority = true;
-            sizeEachIteration = tasks.size();
+            order = inPriorityOrder();
         }
 
-        // EFFECTS: if current priority is a real priority, the number of elements gone through has not exceeded
-        //          the num of elements in the list, and tasks is not empty, return true otherwise return false.
+        // EFFECTS: returns true if there are to-dos that have not been returned yet
         @Override
         public boolean hasNext() {
-            return currentPriority < 5 && sizeEachIteration > 0 && !tasks.isEmpty();
+            return next < order.length;
         }
 
         // EFFECTS: returns To-dos in correct priority order
@@ -151,65 +264,7 @@ public class Project extends Todo implements Iterable<Todo> {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-
-            if (moveToNextPriority) {
-                getNumPriority();
-                while (numPriority == 0) {
-                    currentPriority++;
-                    getNumPriority();
-                }
-            }
-            sizeEachIteration--;
-            return priorityReturn();
-        }
-
-        // MODIFIES: this
-        // EFFECTS: counts the number of tasks that have the current priority
-        private void getNumPriority() {
-            while (currentIndex < size) {
-                if (equalsCurrentPriority()) {
-                    numPriority++;
-                }
-                currentIndex++;
-            }
-
-            currentIndex = 0;
-            moveToNextPriority = false;
-        }
-
-        // MODIFIES: this
-        // EFFECTS: returns project or task with corresponding current priority
-        //          taking into account num of to-do w/ priority
-        private Todo priorityReturn() {
-            while (currentIndex < size) {
-                if (numPriority == 1) {
-                    if (equalsCurrentPriority()) {
-                        numPriority--;
-                        someTodo = tasks.get(currentIndex);
-                        break;
-                    }
-                }
-                if (equalsCurrentPriority()) {
-                    numPriority--;
-                    return tasks.get(currentIndex++);
-                }
-                currentIndex++;
-            }
-            nextPriorityResetValues();
-            return someTodo;
-        }
-
-        // MODIFIES: this
-        // EFFECTS: helper method resetting values for new priority
-        private void nextPriorityResetValues() {
-            currentIndex = 0;
-            currentPriority++;
-            moveToNextPriority = true;
-        }
-
-        // EFFECTS: returns true if task of index is of current priority
-        private Boolean equalsCurrentPriority() {
-            return tasks.get(currentIndex).getPriority().equals(new Priority(currentPriority));
+            return order[next++];
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+// Traverses the tasks of a project and of all its sub-projects without recursion, so that the depth of a tree
+// is limited only by memory. A sub-project that is contained in several projects of the tree is visited once.
+// Aggregations over at least TASKS_PER_FORK tasks are computed on a ForkJoinPool: the tasks are first collected
+// into an array by the traversal, and the array is then split into ranges that are accumulated in parallel.
+public class ProjectTree {
+    public static final int TASKS_PER_FORK = 4096;
+
+    private ProjectTree() {
+    }
+
+    // EFFECTS: calls action on every task of root and of its sub-projects, depth-first in the order they were added
+    public static void forEachTask(Project root, Consumer<? super Task> action) {
+        Set<Project> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Iterator<Todo>> stack = new ArrayDeque<>();
+        visited.add(root);
+        stack.push(root.getChildren().iterator());
+        while (!stack.isEmpty()) {
+            Iterator<Todo> children = stack.peek();
+            if (!children.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            Todo child = children.next();
+            if (child instanceof Task) {
+                action.accept((Task) child);
+            } else if (visited.add((Project) child)) {
+                stack.push(((Project) child).getChildren().iterator());
+            }
+        }
+    }
+
+    // EFFECTS: returns the tasks of root and of its sub-projects, in the order they are visited by forEachTask
+    public static Task[] getTasks(Project root) {
+        TaskCollector tasks = new TaskCollector(root.getNumberOfTasks());
+        forEachTask(root, tasks);
+        return Arrays.copyOf(tasks.tasks, tasks.size);
+    }
+
+    // EFFECTS: returns the result of collector over the tasks of root and of its sub-projects; the tasks are
+    //     accumulated in parallel on the common pool when there are at least TASKS_PER_FORK of them
+    public static <A, R> R aggregate(Project root, Collector<? super Task, A, R> collector) {
+        return aggregate(root, collector, ForkJoinPool.commonPool());
+    }
+
+    // EFFECTS: returns the result of collector over the tasks of root and of its sub-projects; the tasks are
+    //     accumulated in parallel on pool when there are at least TASKS_PER_FORK of them
+    public static <A, R> R aggregate(Project root, Collector<? super Task, A, R> collector, ForkJoinPool pool) {
+        Task[] tasks = getTasks(root);
+        AggregateRange<A> all = new AggregateRange<>(tasks, 0, tasks.length, collector);
+        A container = tasks.length < TASKS_PER_FORK ? all.compute() : pool.invoke(all);
+        return collector.finisher().apply(container);
+    }
+
+    // Collects the tasks it is given into a growing array
+    private static class TaskCollector implements Consumer<Task> {
+        private Task[] tasks;
+        private int size;
+
+        TaskCollector(int capacity) {
+            tasks = new Task[Math.max(capacity, 16)];
+        }
+
+        @Override
+        public void accept(Task task) {
+            if (size == tasks.length) {
+                tasks = Arrays.copyOf(tasks, tasks.length * 2);
+            }
+            tasks[size++] = task;
+        }
+    }
+
+    // Accumulates the tasks in [from, to) into a container of collector, splitting the range while it is large
+    private static class AggregateRange<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private Task[] tasks;
+        private int from;
+        private int to;
+        private Collector<? super Task, A, ?> collector;
+
+        AggregateRange(Task[] tasks, int from, int to, Collector<? super Task, A, ?> collector) {
+            this.tasks = tasks;
+            this.from = from;
+            this.to = to;
+            this.collector = collector;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= TASKS_PER_FORK) {
+                A container = collector.supplier().get();
+                BiConsumer<A, ? super Task> accumulator = collector.accumulator();
+                for (int i = from; i < to; i++) {
+                    accumulator.accept(container, tasks[i]);
+                }
+                return container;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateRange<A> second = new AggregateRange<>(tasks, middle, to, collector);
+            second.fork();
+            A first = new AggregateRange<>(tasks, from, middle, collector).compute();
+            return collector.combiner().apply(first, second.join());
+        }
+    }
+}
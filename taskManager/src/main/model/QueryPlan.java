@@ -0,0 +1,90 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// The plan chosen to select the tasks of a TaskStore that match a TaskQuery at a given time: the access path the
+// candidate tasks are read from (an index of the store, or a scan of it), and the terms of the query that remain
+// to be tested on each candidate, most selective first, so that most candidates are rejected by the first test.
+// The estimates come from the sizes of the indexes of the store when the plan was made.
+public class QueryPlan {
+    private AccessPath access;
+    private List<TaskQuery> filters;
+    private List<Double> selectivities;
+    private long scanCost;
+    private long now;
+
+    // EFFECTS: constructs a plan that reads access and tests filters in the given order, with the given
+    //     estimated selectivities, at time now; scanCost is the cost of scanning the whole store
+    QueryPlan(AccessPath access, List<TaskQuery> filters, List<Double> selectivities, long scanCost, long now) {
+        this.access = access;
+        this.filters = filters;
+        this.selectivities = selectivities;
+        this.scanCost = scanCost;
+        this.now = now;
+    }
+
+    // EFFECTS: returns a description of the access path, e.g. "status index: IN_PROGRESS" or "scan"
+    public String getAccessPath() {
+        return access.getDescription();
+    }
+
+    // EFFECTS: returns the estimated number of tasks read from the access path
+    public long getEstimatedRows() {
+        return access.getEstimatedRows();
+    }
+
+    // EFFECTS: returns the estimated cost of the plan, in tasks read (or equivalent work)
+    public long getEstimatedCost() {
+        return access.getCost();
+    }
+
+    // EFFECTS: returns the terms tested on each candidate, in the order they are tested
+    public List<String> getFilters() {
+        List<String> descriptions = new ArrayList<>();
+        for (TaskQuery filter : filters) {
+            descriptions.add(filter.toString());
+        }
+        return Collections.unmodifiableList(descriptions);
+    }
+
+    // EFFECTS: returns the tasks that match the query of this plan, in the order they are read from the access path
+    public List<Task> execute() {
+        List<Task> selected = new ArrayList<>();
+        for (Task t : access.read()) {
+            if (passesFilters(t)) {
+                selected.add(t);
+            }
+        }
+        return selected;
+    }
+
+    // EFFECTS: returns true if task passes every filter of this plan
+    private boolean passesFilters(Task task) {
+        for (TaskQuery filter : filters) {
+            if (!filter.matches(task, now)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns a description of this plan: its access path with the estimated rows and cost (and the cost
+    //     of a scan, for comparison), and its filters in order with their estimated selectivity
+    public String explain() {
+        StringBuilder plan = new StringBuilder();
+        plan.append(String.format("access: %s (estimated rows %d, cost %d; scan cost %d)%n",
+                getAccessPath(), getEstimatedRows(), getEstimatedCost(), scanCost));
+        for (int i = 0; i < filters.size(); i++) {
+            plan.append(String.format("filter %d: %s (selectivity %.3f)%n", i + 1, filters.get(i),
+                    selectivities.get(i)));
+        }
+        return plan.toString();
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
@@ -0,0 +1,180 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A saved filter kept open on a TaskStore: the tasks of the store that match a query, kept sorted by an order.
+// The view is maintained incrementally: the store passes it each task that is added, removed or has a field set,
+// and the view only tests that task against its query, inserting, removing or moving it in the sorted list and
+// telling its listeners about the change. Ties in the order are broken by task id.
+// Note: a query that compares due dates with now is only re-evaluated for the tasks that change; call refresh to
+// re-evaluate it for every task as time passes (e.g. at midnight for "due today")
+public class SavedView {
+    // Orders tasks by priority level, then by due date (tasks with no due date last)
+    public static final Comparator<Task> BY_PRIORITY_AND_DUE_DATE = Comparator
+            .comparingInt((Task t) -> Todo.priorityLevel(t.getPriority()))
+            .thenComparingLong(t -> t.getDueDate() == null ? Long.MAX_VALUE : t.getDueDate().getDate().getTime());
+
+    private String name;
+    private TaskQuery query;
+    private Comparator<Task> order;
+    private TaskStore store;
+    private List<Task> tasks;
+    private Map<Task, Boolean> members;
+    private List<ViewListener> listeners;
+
+    // EFFECTS: constructs a view named name of the tasks of store that match query, sorted by order
+    SavedView(String name, TaskQuery query, Comparator<Task> order, TaskStore store) {
+        this.name = name;
+        this.query = query;
+        this.order = order.thenComparingLong(Task::getId);
+        this.store = store;
+        tasks = new ArrayList<>();
+        members = new IdentityHashMap<>();
+        listeners = new ArrayList<>();
+        refresh();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TaskQuery getQuery() {
+        return query;
+    }
+
+    // EFFECTS: returns an unmodifiable view of the tasks of this view, in order
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    // EFFECTS: returns the number of tasks in this view
+    public int size() {
+        return tasks.size();
+    }
+
+    // EFFECTS: returns true if task is in this view
+    public boolean contains(Task task) {
+        return members.containsKey(task);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds listener to the listeners of this view, if it is not one already
+    public void addListener(ViewListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes listener from the listeners of this view
+    public void removeListener(ViewListener listener) {
+        listeners.remove(listener);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-evaluates the query of this view for every task of the store, without notifying the listeners
+    //     of the tasks that stay in the view
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        for (Task t : new ArrayList<>(tasks)) {
+            if (!query.matches(t, now)) {
+                remove(t);
+            }
+        }
+        for (Task t : query.plan(store, now).execute()) {
+            if (!contains(t)) {
+                insert(t);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: inserts task into this view if it matches the query
+    void taskAdded(Task task) {
+        if (query.matches(task, System.currentTimeMillis())) {
+            insert(task);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes task from this view if it is in it
+    void taskRemoved(Task task) {
+        if (contains(task)) {
+            remove(task);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-evaluates the query for task after one of its fields has been set: inserts or removes task if
+    //     it has started or stopped matching, moves it if it is out of order, and reports it as changed otherwise
+    void taskChanged(Task task) {
+        if (!contains(task)) {
+            taskAdded(task);
+        } else if (!query.matches(task, System.currentTimeMillis())) {
+            remove(task);
+        } else {
+            int index = indexOf(task);
+            if (inOrderAt(index)) {
+                listeners.forEach(l -> l.changed(this, index, task));
+            } else {
+                remove(task);
+                insert(task);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every task from this view
+    void clear() {
+        while (!tasks.isEmpty()) {
+            remove(tasks.get(tasks.size() - 1));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: inserts task at its position in order
+    private void insert(Task task) {
+        int index = -Collections.binarySearch(tasks, task, order) - 1;
+        tasks.add(index, task);
+        members.put(task, Boolean.TRUE);
+        listeners.forEach(l -> l.added(this, index, task));
+    }
+
+    // REQUIRES: task is in this view
+    // MODIFIES: this
+    // EFFECTS: removes task
+    private void remove(Task task) {
+        int index = indexOf(task);
+        tasks.remove(index);
+        members.remove(task);
+        listeners.forEach(l -> l.removed(this, index, task));
+    }
+
+    // REQUIRES: task is in this view
+    // EFFECTS: returns the index of task: found by binary search if it is still in order, and by scanning the view
+    //     otherwise (a field it is ordered by has been set since it was inserted)
+    private int indexOf(Task task) {
+        int index = Collections.binarySearch(tasks, task, order);
+        if (index >= 0 && tasks.get(index) == task) {
+            return index;
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i) == task) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Task is not in view " + name + ": " + task.getDescription());
+    }
+
+    // EFFECTS: returns true if the task at index is ordered after the one before it and before the one after it
+    private boolean inOrderAt(int index) {
+        Task task = tasks.get(index);
+        return (index == 0 || order.compare(tasks.get(index - 1), task) < 0)
+                && (index == tasks.size() - 1 || order.compare(task, tasks.get(index + 1)) < 0);
+    }
+}
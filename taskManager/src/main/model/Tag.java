@@ -4,14 +4,15 @@ import model.exceptions.EmptyStringException;
 import model.exceptions.NullArgumentException;
 
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
 
-// Represents a tag having a name
+// Represents a tag having a name, and the tasks that have it.
+// Tasks share the one tag of each name obtained from TagRegistry. A tag refers weakly to its tasks, so that it
+// never keeps a task reachable once the task has been removed from the store and the rest of the program; the
+// tasks of a TaskStore with a tag are found faster with its TagIndex.
 public class Tag {
     private String name;
-    private Set<Task> tasks;
+    private WeakIdentitySet<Task> tasks;
 
     // MODIFIES: this
     // EFFECTS: creates a Tag with the given name
@@ -21,7 +22,7 @@ public class Tag {
             throw new EmptyStringException("Cannot construct a tag with no name");
         }
         this.name = name;
-        tasks = new HashSet<>();
+        tasks = new WeakIdentitySet<>();
     }
     
     // EFFECTS: returns the name of this tag
@@ -29,22 +30,20 @@ public class Tag {
         return name;
     }
     
-    // MODIFIES: this
-    // EFFECTS: adds task to the collection of tasks in this tag if it is not already exist
+    // MODIFIES: task
+    // EFFECTS: adds this tag to task if it does not already have it
     //  throws NullArgumentException if task is null
     public void addTask(Task task) {
         if (!containsTask(task)) {
-            tasks.add(task);
             task.addTag(this);
         }
     }
     
-    // MODIFIES: this
-    // EFFECTS: removes task from the collection of tasks in this tag
+    // MODIFIES: task
+    // EFFECTS: removes this tag from task
     //  throws NullArgumentException if task is null
     public void removeTask(Task task) {
         if (containsTask(task)) {
-            tasks.remove(task);
             task.removeTag(this);
         }
     }
@@ -56,14 +55,25 @@ public class Tag {
         if (task == null) {
             throw new NullArgumentException("Invalid argument: task cannot be null");
         }
-        return tasks.contains(task);
+        return task.containsTag(this);
     }
-    
-    // EFFECTS: returns an unmodifiable set of tasks that have this tag
+
+    // EFFECTS: returns an unmodifiable set (compared by identity) of the tasks that have this tag, as they are now
     public Set<Task> getTasks() {
-        return Collections.unmodifiableSet(tasks);
+        return Collections.unmodifiableSet(tasks.toSet());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that task has this tag; called by Task.addTag
+    void register(Task task) {
+        tasks.add(task);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that task no longer has this tag; called by Task.removeTag
+    void unregister(Task task) {
+        tasks.remove(task);
     }
-    
     
     // EFFECTS: returns the tag name preceded by #
     @Override
@@ -80,11 +90,11 @@ public class Tag {
             return false;
         }
         Tag tag = (Tag) o;
-        return Objects.equals(name, tag.name);
+        return name.equals(tag.name);
     }
     
     @Override
     public int hashCode() {
-        return Objects.hash(name);
+        return name.hashCode();
     }
 }
@@ -0,0 +1,132 @@
+package model;
+
+import utility.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Index of tasks by tag, answering boolean tag queries (see TagQuery). Every indexed task is given a dense
+// ordinal, and each tag is mapped to the compressed bitmap of the ordinals of its tasks; the ordinal of a removed
+// task is reused by the next task that is added.
+public class TagIndex {
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private Map<Task, Integer> ordinals;
+    private Task[] tasks;          // by ordinal; null where the ordinal is free
+    private int[] freeOrdinals;
+    private int numFreeOrdinals;
+    private RoaringBitmap all;
+    private Map<Tag, RoaringBitmap> byTag;
+
+    // EFFECTS: constructs an empty index
+    public TagIndex() {
+        ordinals = new IdentityHashMap<>();
+        tasks = new Task[16];
+        freeOrdinals = new int[16];
+        all = new RoaringBitmap();
+        byTag = new HashMap<>();
+    }
+
+    // EFFECTS: returns the number of indexed tasks
+    public int size() {
+        return ordinals.size();
+    }
+
+    // EFFECTS: returns the number of indexed tasks that match query
+    public int count(TagQuery query) {
+        return query.count(this);
+    }
+
+    // EFFECTS: returns the indexed tasks that match query, in the order of their ordinals
+    public List<Task> getTasks(TagQuery query) {
+        RoaringBitmap matches = query.evaluate(this);
+        List<Task> matching = new ArrayList<>(matches.getCardinality());
+        matches.forEach(ordinal -> matching.add(tasks[ordinal]));
+        return matching;
+    }
+
+    // EFFECTS: returns the bitmap of the ordinals of every indexed task; it must not be modified
+    RoaringBitmap getAll() {
+        return all;
+    }
+
+    // EFFECTS: returns the bitmap of the ordinals of the indexed tasks with the tag named tagName; it must not be
+    //     modified
+    RoaringBitmap getOrdinals(String tagName) {
+        Tag tag = TagRegistry.lookup(tagName);
+        RoaringBitmap ordinalsWithTag = tag == null ? null : byTag.get(tag);
+        return ordinalsWithTag == null ? EMPTY : ordinalsWithTag;
+    }
+
+    // REQUIRES: task is not in this index
+    // MODIFIES: this
+    // EFFECTS: gives task an ordinal and adds it to the bitmap of each of its tags
+    void add(Task task) {
+        int ordinal = numFreeOrdinals > 0 ? freeOrdinals[--numFreeOrdinals] : ordinals.size();
+        if (ordinal == tasks.length) {
+            tasks = Arrays.copyOf(tasks, ordinal * 2);
+        }
+        tasks[ordinal] = task;
+        ordinals.put(task, ordinal);
+        all.add(ordinal);
+        for (Tag tag : task.getTags()) {
+            byTag.computeIfAbsent(tag, t -> new RoaringBitmap()).add(ordinal);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes task from the bitmap of each of its tags and frees its ordinal
+    void remove(Task task) {
+        Integer ordinal = ordinals.remove(task);
+        if (ordinal != null) {
+            for (Tag tag : task.getTags()) {
+                removeOrdinal(tag, ordinal);
+            }
+            all.remove(ordinal);
+            tasks[ordinal] = null;
+            if (numFreeOrdinals == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, numFreeOrdinals * 2);
+            }
+            freeOrdinals[numFreeOrdinals++] = ordinal;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds task to the bitmap of tag if task has tag, and removes it otherwise
+    void update(Task task, Tag tag) {
+        Integer ordinal = ordinals.get(task);
+        if (ordinal != null) {
+            if (task.containsTag(tag)) {
+                byTag.computeIfAbsent(tag, t -> new RoaringBitmap()).add(ordinal);
+            } else {
+                removeOrdinal(tag, ordinal);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every task from this index
+    void clear() {
+        ordinals.clear();
+        Arrays.fill(tasks, null);
+        numFreeOrdinals = 0;
+        all = new RoaringBitmap();
+        byTag.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes ordinal from the bitmap of tag, and drops the bitmap once it is empty
+    private void removeOrdinal(Tag tag, int ordinal) {
+        RoaringBitmap ordinalsWithTag = byTag.get(tag);
+        if (ordinalsWithTag != null) {
+            ordinalsWithTag.remove(ordinal);
+            if (ordinalsWithTag.isEmpty()) {
+                byTag.remove(tag);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package model;
+
+import utility.RoaringBitmap;
+
+// A boolean query on the tags of tasks, such as tag("cpsc210").and(tag("exam")).andNot(tag("done")), that is
+// evaluated on a TagIndex by combining the bitmaps of its tags. Only the results of and, or and not are built;
+// counting the tasks that match an intersection does not build the intersection.
+public abstract class TagQuery {
+
+    // EFFECTS: returns a query matching the tasks with the tag named tagName
+    //  throws EmptyStringException if tagName is null or empty
+    public static TagQuery tag(String tagName) {
+        TagRegistry.lookup(tagName);
+        return new TagQuery() {
+            @Override
+            RoaringBitmap evaluate(TagIndex index) {
+                return index.getOrdinals(tagName);
+            }
+        };
+    }
+
+    // EFFECTS: returns a query matching the tasks that do not match query
+    public static TagQuery not(TagQuery query) {
+        return new TagQuery() {
+            @Override
+            RoaringBitmap evaluate(TagIndex index) {
+                return RoaringBitmap.andNot(index.getAll(), query.evaluate(index));
+            }
+        };
+    }
+
+    // EFFECTS: returns a query matching the tasks that match both this query and other
+    public TagQuery and(TagQuery other) {
+        TagQuery first = this;
+        return new TagQuery() {
+            @Override
+            RoaringBitmap evaluate(TagIndex index) {
+                return RoaringBitmap.and(first.evaluate(index), other.evaluate(index));
+            }
+
+            @Override
+            int count(TagIndex index) {
+                return RoaringBitmap.andCardinality(first.evaluate(index), other.evaluate(index));
+            }
+        };
+    }
+
+    // EFFECTS: returns a query matching the tasks that match this query or other
+    public TagQuery or(TagQuery other) {
+        TagQuery first = this;
+        return new TagQuery() {
+            @Override
+            RoaringBitmap evaluate(TagIndex index) {
+                return RoaringBitmap.or(first.evaluate(index), other.evaluate(index));
+            }
+        };
+    }
+
+    // EFFECTS: returns a query matching the tasks that match this query but not other
+    public TagQuery andNot(TagQuery other) {
+        TagQuery first = this;
+        return new TagQuery() {
+            @Override
+            RoaringBitmap evaluate(TagIndex index) {
+                return RoaringBitmap.andNot(first.evaluate(index), other.evaluate(index));
+            }
+        };
+    }
+
+    // EFFECTS: returns the bitmap of the ordinals of the tasks of index that match this query; it must not be
+    //     modified
+    abstract RoaringBitmap evaluate(TagIndex index);
+
+    // EFFECTS: returns the number of tasks of index that match this query
+    int count(TagIndex index) {
+        return evaluate(index).getCardinality();
+    }
+}
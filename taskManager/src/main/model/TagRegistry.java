@@ -0,0 +1,41 @@
+package model;
+
+import model.exceptions.EmptyStringException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Holds the one Tag of every tag name, so that all tasks with the same tag share that Tag and tags are compared by
+// identity. A Tag refers weakly to its tasks, so the registry keeps no task reachable.
+public class TagRegistry {
+    private static final ConcurrentMap<String, Tag> TAGS = new ConcurrentHashMap<>();
+
+    // EFFECTS: returns the tag with name tagName, creating it the first time tagName is used
+    //  throws EmptyStringException if tagName is null or empty
+    public static Tag intern(String tagName) {
+        checkName(tagName);
+        Tag tag = TAGS.get(tagName);
+        return tag != null ? tag : TAGS.computeIfAbsent(tagName, Tag::new);
+    }
+
+    // EFFECTS: returns the tag with name tagName, or null if no task has ever had that tag
+    //  throws EmptyStringException if tagName is null or empty
+    public static Tag lookup(String tagName) {
+        checkName(tagName);
+        return TAGS.get(tagName);
+    }
+
+    // EFFECTS: returns an unmodifiable view of every tag that has been created
+    public static Collection<Tag> getTags() {
+        return Collections.unmodifiableCollection(TAGS.values());
+    }
+
+    // EFFECTS: throws EmptyStringException if tagName is null or empty
+    private static void checkName(String tagName) {
+        if (tagName == null || tagName.length() == 0) {
+            throw new EmptyStringException("Tag name cannot be empty or null");
+        }
+    }
+}
@@ -17,6 +17,7 @@ public class Task extends Todo {
     private Set<Tag> tags;
     private DueDate dueDate;
     private Status status;
+    private List<TaskObserver> observers;  // null until the first observer is added
 
     // MODIFIES: this
     // EFFECTS: constructs a task with the given description
@@ -25,20 +26,61 @@ public class Task extends Todo {
     //    status of 'To Do', and default priority level (i.e., not important nor urgent)
     //  throws EmptyStringException if description is null or empty
     public Task(String description) {
+        this(description, true);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: constructs a task with the given description, to be parsed for meta-data if parseMetaData
+    //    is true; otherwise the task has no tags, no due date, status of 'To Do' and default priority
+    //  throws EmptyStringException if description is null or empty
+    private Task(String description, boolean parseMetaData) {
         super(description);
+        priority = new TaskPriority(this, priority);
         tags = new HashSet<>();
         dueDate = NO_DUE_DATE;
         status = Status.TODO;
-        setDescription(super.getDescription());
+        if (parseMetaData) {
+            setDescription(super.getDescription());
+        }
+    }
+
+    // EFFECTS: returns a task with the given description, which is kept as is rather than parsed for meta-data;
+    //    the task has no tags, no due date, status of 'To Do' and default priority.
+    //    Used to restore stored tasks, whose meta-data is set from the stored fields afterwards.
+    //  throws EmptyStringException if description is null or empty
+    public static Task restore(String description) {
+        return new Task(description, false);
     }
 
+    // REQUIRES: id > 0, and id is not the id of another task
+    // EFFECTS: returns a task restored like restore(description), whose id is the stored id
+    //  throws EmptyStringException if description is null or empty
+    public static Task restore(long id, String description) {
+        Task task = new Task(description, false);
+        task.restoreId(id);
+        return task;
+    }
+
+    // EFFECTS: returns a task with the id, description, status, priority, due date, progress, estimated time and
+    //     tags of this task, which is not observed, in no project and not among the tasks of its tags, and does
+    //     not change when this task does; used to hand a consistent snapshot of a task to another thread
+    // Note: the copy has the id of this task, so it is not to be stored alongside it
+    public Task copy() {
+        Task copy = restore(getId(), description);
+        copy.status = status;
+        copy.priority = new TaskPriority(copy, priority);
+        copy.dueDate = dueDate == NO_DUE_DATE ? NO_DUE_DATE : new TaskDueDate(copy, dueDate);
+        copy.progress = progress;
+        copy.etcHours = etcHours;
+        copy.tags.addAll(tags);
+        return copy;
+    }
 
     // MODIFIES: this
-    // EFFECTS: creates a tag with name tagName and adds it to this task
+    // EFFECTS: adds the tag with name tagName to this task
     //  throws EmptyStringException if tagName is null or empty
-    // Note: no two tags are to have the same name
     public void addTag(String tagName) {
-        addTag(new Tag(tagName));
+        addTag(TagRegistry.intern(tagName));
     }
 
     // MODIFIES: this
@@ -47,7 +89,8 @@ public class Task extends Todo {
     public void addTag(Tag tag) {
         if (!containsTag(tag)) {
             tags.add(tag);
-            tag.addTask(this);
+            tag.register(this);
+            notifyObservers(TaskField.TAGS, tag);
         }
     }
 
@@ -55,7 +98,10 @@ public class Task extends Todo {
     // EFFECTS: removes the tag with name tagName from this task
     //  throws EmptyStringException if tagName is empty or null
     public void removeTag(String tagName) {
-        removeTag(new Tag(tagName));
+        Tag tag = TagRegistry.lookup(tagName);
+        if (tag != null) {
+            removeTag(tag);
+        }
     }
 
     // MODIFIES: this
@@ -63,8 +109,53 @@ public class Task extends Todo {
     //  throws NullArgumentException if tag is null
     public void removeTag(Tag tag) {
         if (containsTag(tag)) {
+            getTag(tag).unregister(this);
             tags.remove(tag);
-            tag.removeTask(this);
+            notifyObservers(TaskField.TAGS, tag);
+        }
+    }
+
+    // REQUIRES: this task has tag
+    // EFFECTS: returns the tag of this task that is equal to tag, which is another Tag of the same name if tag has
+    //     not been obtained from TagRegistry
+    private Tag getTag(Tag tag) {
+        for (Tag t : tags) {
+            if (t.equals(tag)) {
+                return t;
+            }
+        }
+        return tag;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds observer to the observers notified when a field of this task is set
+    public void addObserver(TaskObserver observer) {
+        if (observers == null) {
+            observers = new ArrayList<>(1);
+        }
+        observers.add(observer);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes observer from the observers of this task; observers are compared by identity, as equal
+    //     observers (e.g. two stores of the same tasks) are still distinct
+    public void removeObserver(TaskObserver observer) {
+        if (observers != null) {
+            for (int i = 0; i < observers.size(); i++) {
+                if (observers.get(i) == observer) {
+                    observers.remove(i);
+                    return;
+                }
+            }
+        }
+    }
+
+    // EFFECTS: notifies every observer that field has been set, and had the value previous before
+    void notifyObservers(TaskField field, Object previous) {
+        if (observers != null) {
+            for (int i = 0; i < observers.size(); i++) {
+                observers.get(i).update(this, field, previous);
+            }
         }
     }
 
@@ -85,7 +176,21 @@ public class Task extends Todo {
         if (status == null) {
             throw new NullArgumentException("Illegal argument: status is null");
         }
+        Status previous = this.status;
         this.status = status;
+        notifyObservers(TaskField.STATUS, previous);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the priority of this task to a copy of priority
+    //   throws NullArgumentException when priority is null
+    // Note: the priority of a task is its own, so that the observers of the task are notified
+    //   whether it is replaced through this method or changed in place
+    @Override
+    public void setPriority(Priority priority) {
+        Priority previous = this.priority;
+        super.setPriority(priority == null ? null : new TaskPriority(this, priority));
+        notifyObservers(TaskField.PRIORITY, previous);
     }
 
     // EFFECTS: returns the description of this task
@@ -98,7 +203,10 @@ public class Task extends Todo {
     //  throws InvalidProgressException if !(0 <= progress <= 100)
     public void setProgress(int progress) throws InvalidProgressException {
         if (0 <= progress && progress <= 100) {
+            int previous = this.progress;
             this.progress = progress;
+            propagateToParents(progress - previous, 0);
+            notifyObservers(TaskField.PROGRESS, previous);
         } else {
             throw new InvalidProgressException("Invalid Progress: progress must be between 0 and 100!");
         }
@@ -111,7 +219,10 @@ public class Task extends Todo {
         if (hours < 0) {
             throw new NegativeInputException("Invalid Estimated Time To Complete: must not be negative!");
         } else {
+            int previous = etcHours;
             etcHours = hours;
+            propagateToParents(0, hours - previous);
+            notifyObservers(TaskField.ESTIMATED_TIME, previous);
         }
     }
 
@@ -135,8 +246,10 @@ public class Task extends Todo {
         if (description == null || description.length() == 0) {
             throw new EmptyStringException("setDescription is called with no description");
         }
+        String previous = this.description;
         this.description = description;
         parseDescription(description);
+        notifyObservers(TaskField.DESCRIPTION, previous);
     }
 
     // EFFECTS: returns the due date of this task
@@ -145,19 +258,21 @@ public class Task extends Todo {
     }
 
     // MODIFIES: this
-    // EFFECTS: sets the due date of this task
+    // EFFECTS: sets the due date of this task to a copy of dueDate
+    // Note: the due date of a task is its own, so that the observers of the task are notified
+    //   whether it is replaced through this method or changed in place
     public void setDueDate(DueDate dueDate) {
-        this.dueDate = dueDate;
+        DueDate previous = this.dueDate;
+        this.dueDate = dueDate == NO_DUE_DATE ? NO_DUE_DATE : new TaskDueDate(this, dueDate);
+        notifyObservers(TaskField.DUE_DATE, previous);
     }
 
     // EFFECTS: returns true if task contains a tag with tagName,
     //     returns false otherwise
     //  throws EmptyStringException if tagName is empty or null
     public boolean containsTag(String tagName) {
-        if (tagName == null || tagName.length() == 0) {
-            throw new EmptyStringException("Tag name cannot be empty or null");
-        }
-        return containsTag(new Tag(tagName));
+        Tag tag = TagRegistry.lookup(tagName);
+        return tag != null && containsTag(tag);
     }
 
     // EFFECTS: returns true if task contains this tag,
@@ -237,9 +352,13 @@ public class Task extends Todo {
                 && status == task.status;
     }
 
+    // EFFECTS: returns the same hash code as Objects.hash(description, dueDate, priority, status),
+    //     without allocating an array for the arguments
     @Override
     public int hashCode() {
-        // return Objects.hash(description, tags, dueDate, priority, status);
-        return Objects.hash(description, dueDate, priority, status);
+        int result = 31 + Objects.hashCode(description);
+        result = 31 * result + Objects.hashCode(dueDate);
+        result = 31 * result + Objects.hashCode(priority);
+        return 31 * result + Objects.hashCode(status);
     }
 }
@@ -0,0 +1,65 @@
+package model;
+
+import java.util.Date;
+
+// Represents the due date of a task, which notifies the observers of the task when it is changed in place
+// (e.g. task.getDueDate().postponeOneDay()), as they do when the task is given another due date.
+class TaskDueDate extends DueDate {
+    private final Task owner;  // null while DueDate(Date) sets the date through setDueDate
+
+    // EFFECTS: constructs a due date of owner that is the same date and time as dueDate
+    TaskDueDate(Task owner, DueDate dueDate) {
+        super(dueDate.getDate());
+        this.owner = owner;
+    }
+
+    // MODIFIES: this, owner
+    // EFFECTS: sets the due date to date, and notifies the observers of owner
+    //  throws NullArgumentException if date is null
+    @Override
+    public void setDueDate(Date date) {
+        DueDate previous = snapshot();
+        super.setDueDate(date);
+        changed(previous);
+    }
+
+    // MODIFIES: this, owner
+    // EFFECTS: sets the due time to hh:mm, and notifies the observers of owner
+    //  throws InvalidTimeException if hh or mm is out of range
+    @Override
+    public void setDueTime(int hh, int mm) {
+        DueDate previous = snapshot();
+        super.setDueTime(hh, mm);
+        changed(previous);
+    }
+
+    // MODIFIES: this, owner
+    // EFFECTS: postpones the due date by one day, and notifies the observers of owner
+    @Override
+    public void postponeOneDay() {
+        DueDate previous = snapshot();
+        super.postponeOneDay();
+        changed(previous);
+    }
+
+    // MODIFIES: this, owner
+    // EFFECTS: postpones the due date by one week, and notifies the observers of owner
+    @Override
+    public void postponeOneWeek() {
+        DueDate previous = snapshot();
+        super.postponeOneWeek();
+        changed(previous);
+    }
+
+    // EFFECTS: returns a due date that stays the same date and time as this one, or null while constructing
+    private DueDate snapshot() {
+        return owner == null ? null : new DueDate(getDate());
+    }
+
+    // EFFECTS: notifies the observers of owner that the due date has been changed from previous
+    private void changed(DueDate previous) {
+        if (owner != null) {
+            owner.notifyObservers(TaskField.DUE_DATE, previous);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package model;
+
+// The fields of a task whose changes are reported to its observers
+public enum TaskField {
+    DESCRIPTION,
+    STATUS,
+    PRIORITY,
+    DUE_DATE,
+    PROGRESS,
+    ESTIMATED_TIME,
+    TAGS            // a tag has been added or removed; the previous value reported is that tag
+}
@@ -0,0 +1,8 @@
+package model;
+
+// Represents an observer that is notified whenever a field of an observed task is set
+public interface TaskObserver {
+
+    // EFFECTS: reacts to field of task having been set; previous is the value field had before
+    void update(Task task, TaskField field, Object previous);
+}
@@ -0,0 +1,35 @@
+package model;
+
+// Represents the priority of a task, which notifies the observers of the task when it is changed in place
+// (e.g. task.getPriority().setUrgent(true)), as they do when the task is given another priority.
+class TaskPriority extends Priority {
+    private final Task owner;
+
+    // EFFECTS: constructs a priority of owner that is as important and urgent as priority
+    TaskPriority(Task owner, Priority priority) {
+        super(Todo.priorityLevel(priority));
+        this.owner = owner;
+    }
+
+    // MODIFIES: this, owner
+    // EFFECTS: sets whether this priority is important, and notifies the observers of owner if it has changed
+    @Override
+    public void setImportant(boolean important) {
+        if (important != isImportant()) {
+            Priority previous = new Priority(Todo.priorityLevel(this));
+            super.setImportant(important);
+            owner.notifyObservers(TaskField.PRIORITY, previous);
+        }
+    }
+
+    // MODIFIES: this, owner
+    // EFFECTS: sets whether this priority is urgent, and notifies the observers of owner if it has changed
+    @Override
+    public void setUrgent(boolean urgent) {
+        if (urgent != isUrgent()) {
+            Priority previous = new Priority(Todo.priorityLevel(this));
+            super.setUrgent(urgent);
+            owner.notifyObservers(TaskField.PRIORITY, previous);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+// A compiled filter on tasks, built from terms on the fields of a task (a tag, the priority flags, the status,
+// a due date range relative to now, ranges of progress and estimated time) combined with and, or and not.
+// A query can be tested on single tasks, or select the matching tasks of a TaskStore through a QueryPlan. The plan
+// is chosen by cost, from the sizes of the indexes of the store at the time: the tasks that may match are read
+// from the index that is expected to return the fewest of them (the tag index for the tags of a conjunction, the
+// status, priority or due date index for one of its terms), or from a scan of the store if no index is cheaper,
+// and the terms the index does not answer are then tested on each task, the most selective first.
+public abstract class TaskQuery implements Predicate<Task> {
+    public static final long UNBOUNDED = Long.MIN_VALUE;
+    static final double DEFAULT_SELECTIVITY = 1.0 / 3;  // of the terms that have no statistics
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final int WORD_SIZE = 64;             // tasks intersected per operation on tag bitmaps
+
+    // EFFECTS: returns a query matching the tasks with the tag named tagName
+    //  throws EmptyStringException if tagName is null or empty
+    public static TaskQuery tag(String tagName) {
+        return new TagTerm(tagName);
+    }
+
+    // EFFECTS: returns a query matching the important tasks
+    public static TaskQuery important() {
+        return new PriorityTerm(true);
+    }
+
+    // EFFECTS: returns a query matching the urgent tasks
+    public static TaskQuery urgent() {
+        return new PriorityTerm(false);
+    }
+
+    // EFFECTS: returns a query matching the tasks with status
+    public static TaskQuery status(Status status) {
+        return new StatusTerm(status);
+    }
+
+    // EFFECTS: returns a query matching the tasks due at or after from and before to, both in milliseconds
+    //     relative to the time the query is evaluated; either bound may be UNBOUNDED
+    public static TaskQuery dueBetween(long from, long to) {
+        return new DueTerm(from, to);
+    }
+
+    // EFFECTS: returns a query matching the tasks that have no due date
+    public static TaskQuery noDueDate() {
+        return new NoDueDateTerm();
+    }
+
+    // EFFECTS: returns a query matching the tasks whose progress is between min and max (inclusive)
+    public static TaskQuery progressBetween(int min, int max) {
+        return new Term(range("progress", min, max),
+                task -> task.getProgress() >= min && task.getProgress() <= max);
+    }
+
+    // EFFECTS: returns a query matching the tasks whose estimated time to complete (in hours) is between min and
+    //     max (inclusive)
+    public static TaskQuery etcHoursBetween(int min, int max) {
+        return new Term(range("etcHours", min, max),
+                task -> task.getEstimatedTimeToComplete() >= min && task.getEstimatedTimeToComplete() <= max);
+    }
+
+    // EFFECTS: returns a query matching the tasks that do not match query
+    public static TaskQuery not(TaskQuery query) {
+        return new Not(query);
+    }
+
+    // EFFECTS: returns a query matching the tasks that match both this query and other
+    public TaskQuery and(TaskQuery other) {
+        return new And(this, other);
+    }
+
+    // EFFECTS: returns a query matching the tasks that match this query or other
+    public TaskQuery or(TaskQuery other) {
+        return new Or(this, other);
+    }
+
+    // EFFECTS: returns true if task matches this query now
+    @Override
+    public boolean test(Task task) {
+        return matches(task, System.currentTimeMillis());
+    }
+
+    // EFFECTS: returns the tasks of store that match this query now, in the order of the index they are read
+    //     from, or in the order of the store if it is scanned
+    public List<Task> select(TaskStore store) {
+        return plan(store).execute();
+    }
+
+    // EFFECTS: returns the tasks of tasks that match this query now, in the order they are in
+    public List<Task> select(Collection<Task> tasks) {
+        List<Task> selected = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Task t : tasks) {
+            if (matches(t, now)) {
+                selected.add(t);
+            }
+        }
+        return selected;
+    }
+
+    // EFFECTS: returns the cheapest plan to select the tasks of store that match this query now
+    public QueryPlan plan(TaskStore store) {
+        return plan(store, System.currentTimeMillis());
+    }
+
+    // EFFECTS: returns the cheapest plan to select the tasks of store that match this query at time now: the access
+    //     path of least cost, and the terms it does not cover in increasing order of selectivity
+    QueryPlan plan(TaskStore store, long now) {
+        AccessPath scan = AccessPath.scan(store);
+        AccessPath indexed = access(store, now);
+        AccessPath best = indexed != null && indexed.getCost() < scan.getCost() ? indexed : scan;
+        List<TaskQuery> terms = new ArrayList<>();
+        conjuncts(terms);
+        List<TaskQuery> filters = new ArrayList<>();
+        Map<TaskQuery, Double> selectivities = new IdentityHashMap<>();
+        for (TaskQuery term : terms) {
+            if (!best.covers(term)) {
+                filters.add(term);
+                selectivities.put(term, term.selectivity(store, now));
+            }
+        }
+        filters.sort(Comparator.comparingDouble(selectivities::get));
+        List<Double> ordered = new ArrayList<>();
+        for (TaskQuery filter : filters) {
+            ordered.add(selectivities.get(filter));
+        }
+        return new QueryPlan(best, filters, ordered, scan.getCost(), now);
+    }
+
+    // EFFECTS: returns true if task matches this query at time now (in milliseconds since the epoch)
+    abstract boolean matches(Task task, long now);
+
+    // EFFECTS: returns the estimated fraction of the tasks of store that match this query at time now
+    double selectivity(TaskStore store, long now) {
+        return DEFAULT_SELECTIVITY;
+    }
+
+    // EFFECTS: returns the cheapest path to read the tasks of store that may match this query at time now from an
+    //     index of store, or null if no index of store applies to this query
+    AccessPath access(TaskStore store, long now) {
+        return null;
+    }
+
+    // MODIFIES: terms
+    // EFFECTS: adds the terms that this query is the conjunction of to terms
+    void conjuncts(List<TaskQuery> terms) {
+        terms.add(this);
+    }
+
+    // EFFECTS: returns the fraction of the tasks of store that count is
+    private static double fraction(TaskStore store, long count) {
+        return store.isEmpty() ? 0 : Math.min(1.0, (double) count / store.size());
+    }
+
+    // EFFECTS: returns a description of the range [min, max] of field
+    private static String range(String field, int min, int max) {
+        if (min == Integer.MIN_VALUE) {
+            return field + "<=" + max;
+        }
+        return max == Integer.MAX_VALUE ? field + ">=" + min : min + "<=" + field + "<=" + max;
+    }
+
+    // A term that is only evaluated by testing tasks
+    private static class Term extends TaskQuery {
+        private String description;
+        private Predicate<Task> predicate;
+
+        Term(String description, Predicate<Task> predicate) {
+            this.description = description;
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean matches(Task task, long now) {
+            return predicate.test(task);
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private static class NoDueDateTerm extends TaskQuery {
+        @Override
+        boolean matches(Task task, long now) {
+            return task.getDueDate() == null;
+        }
+
+        // EFFECTS: returns the fraction of the tasks of store that are not in its due date index
+        @Override
+        double selectivity(TaskStore store, long now) {
+            return fraction(store, store.size() - store.getDueDateIndex().size());
+        }
+
+        @Override
+        public String toString() {
+            return "due:none";
+        }
+    }
+
+    private static class TagTerm extends TaskQuery {
+        private String tagName;
+
+        TagTerm(String tagName) {
+            TagRegistry.lookup(tagName);
+            this.tagName = tagName;
+        }
+
+        @Override
+        boolean matches(Task task, long now) {
+            return task.containsTag(tagName);
+        }
+
+        @Override
+        double selectivity(TaskStore store, long now) {
+            return fraction(store, count(store));
+        }
+
+        @Override
+        AccessPath access(TaskStore store, long now) {
+            List<TaskQuery> covered = new ArrayList<>();
+            covered.add(this);
+            return new AccessPath("tag index: " + this, count(store), 0,
+                    () -> store.getTagIndex().getTasks(TagQuery.tag(tagName)), covered);
+        }
+
+        // EFFECTS: returns the number of tasks of store with the tag of this term
+        int count(TaskStore store) {
+            return store.getTagIndex().getOrdinals(tagName).getCardinality();
+        }
+
+        @Override
+        public String toString() {
+            return "#" + tagName;
+        }
+    }
+
+    private static class PriorityTerm extends TaskQuery {
+        private boolean important;  // matches the urgent tasks if false
+
+        PriorityTerm(boolean important) {
+            this.important = important;
+        }
+
+        @Override
+        boolean matches(Task task, long now) {
+            return important ? task.getPriority().isImportant() : task.getPriority().isUrgent();
+        }
+
+        @Override
+        double selectivity(TaskStore store, long now) {
+            return fraction(store, count(store));
+        }
+
+        // EFFECTS: returns the path that reads the tasks of the two priority levels that have the flag of this term;
+        //     copying them into one set costs one unit per task
+        @Override
+        AccessPath access(TaskStore store, long now) {
+            List<TaskQuery> covered = new ArrayList<>();
+            covered.add(this);
+            int count = count(store);
+            return new AccessPath("priority index: " + this, count, count, () -> {
+                Set<Task> tasks = new LinkedIdentitySet<>();
+                tasks.addAll(store.getTasks(new Priority(1)));
+                tasks.addAll(store.getTasks(new Priority(important ? 2 : 3)));
+                return tasks;
+            }, covered);
+        }
+
+        // EFFECTS: returns the number of tasks of store with the flag of this term
+        int count(TaskStore store) {
+            return store.getTasks(new Priority(1)).size() + store.getTasks(new Priority(important ? 2 : 3)).size();
+        }
+
+        @Override
+        public String toString() {
+            return important ? "important" : "urgent";
+        }
+    }
+
+    private static class StatusTerm extends TaskQuery {
+        private Status status;
+
+        StatusTerm(Status status) {
+            this.status = status;
+        }
+
+        @Override
+        boolean matches(Task task, long now) {
+            return task.getStatus() == status;
+        }
+
+        @Override
+        double selectivity(TaskStore store, long now) {
+            return fraction(store, store.getTasks(status).size());
+        }
+
+        @Override
+        AccessPath access(TaskStore store, long now) {
+            List<TaskQuery> covered = new ArrayList<>();
+            covered.add(this);
+            return new AccessPath("status index: " + status.name(), store.getTasks(status).size(), 0,
+                    () -> store.getTasks(status), covered);
+        }
+
+        @Override
+        public String toString() {
+            return "status:" + status.name();
+        }
+    }
+
+    private static class DueTerm extends TaskQuery {
+        private long from;
+        private long to;
+
+        DueTerm(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        boolean matches(Task task, long now) {
+            if (task.getDueDate() == null) {
+                return false;
+            }
+            long dueTime = task.getDueDate().getDate().getTime();
+            return (from == UNBOUNDED || dueTime >= now + from) && (to == UNBOUNDED || dueTime < now + to);
+        }
+
+        @Override
+        double selectivity(TaskStore store, long now) {
+            return fraction(store, store.getDueDateIndex().estimateCount(start(now), end(now)));
+        }
+
+        @Override
+        AccessPath access(TaskStore store, long now) {
+            List<TaskQuery> covered = new ArrayList<>();
+            covered.add(this);
+            return new AccessPath("due date index: " + this,
+                    store.getDueDateIndex().estimateCount(start(now), end(now)), 0,
+                    () -> store.getTasksDue(new Date(start(now)), new Date(end(now))), covered);
+        }
+
+        // EFFECTS: returns the first time in the range of this term at time now
+        private long start(long now) {
+            return from == UNBOUNDED ? Long.MIN_VALUE : now + from;
+        }
+
+        // EFFECTS: returns the time just after the range of this term at time now
+        private long end(long now) {
+            return to == UNBOUNDED ? Long.MAX_VALUE : now + to;
+        }
+
+        @Override
+        public String toString() {
+            if (from == UNBOUNDED) {
+                return "due<" + hours(to);
+            }
+            return to == UNBOUNDED ? "due>=" + hours(from) : hours(from) + "<=due<" + hours(to);
+        }
+
+        // EFFECTS: returns offset as a whole number of hours
+        private static String hours(long offset) {
+            return Math.round((double) offset / HOUR) + "h";
+        }
+    }
+
+    private static class And extends TaskQuery {
+        private TaskQuery first;
+        private TaskQuery second;
+
+        And(TaskQuery first, TaskQuery second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        boolean matches(Task task, long now) {
+            return first.matches(task, now) && second.matches(task, now);
+        }
+
+        @Override
+        double selectivity(TaskStore store, long now) {
+            return first.selectivity(store, now) * second.selectivity(store, now);
+        }
+
+        // EFFECTS: returns the cheapest of the path that intersects the tags of the conjunction in the tag index
+        //     and the paths of its terms; the path covers the conjunction if it covers each of its terms
+        @Override
+        AccessPath access(TaskStore store, long now) {
+            List<TaskQuery> terms = new ArrayList<>();
+            conjuncts(terms);
+            AccessPath best = tagIntersection(store, terms);
+            for (TaskQuery term : terms) {
+                AccessPath path = term.access(store, now);
+                if (path != null && (best == null || path.getCost() < best.getCost())) {
+                    best = path;
+                }
+            }
+            if (best != null && terms.stream().allMatch(best::covers)) {
+                best.getCovered().add(this);
+            }
+            return best;
+        }
+
+        // EFFECTS: returns the path that reads the tasks with every tag of terms from the tag index, or null if
+        //     terms have fewer than two tags; the estimated rows assume the tags are independent
+        private AccessPath tagIntersection(TaskStore store, List<TaskQuery> terms) {
+            List<TaskQuery> tags = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            TagQuery query = null;
+            double rows = store.size();
+            long bitmapSizes = 0;
+            for (TaskQuery term : terms) {
+                if (term instanceof TagTerm) {
+                    TagQuery tag = TagQuery.tag(((TagTerm) term).tagName);
+                    query = query == null ? tag : query.and(tag);
+                    tags.add(term);
+                    names.add(term.toString());
+                    rows *= term.selectivity(store, 0);
+                    bitmapSizes += ((TagTerm) term).count(store);
+                }
+            }
+            if (tags.size() < 2) {
+                return null;
+            }
+            TagQuery intersection = query;
+            return new AccessPath("tag index: " + String.join(" & ", names), Math.round(rows),
+                    bitmapSizes / WORD_SIZE, () -> store.getTagIndex().getTasks(intersection), tags);
+        }
+
+        // MODIFIES: terms
+        // EFFECTS: adds the terms of this conjunction to terms, flattening nested conjunctions
+        @Override
+        void conjuncts(List<TaskQuery> terms) {
+            first.conjuncts(terms);
+            second.conjuncts(terms);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + first + " & " + second + ")";
+        }
+    }
+
+    private static class Not extends TaskQuery {
+        private TaskQuery negated;
+
+        Not(TaskQuery negated) {
+            this.negated = negated;
+        }
+
+        @Override
+        boolean matches(Task task, long now) {
+            return !negated.matches(task, now);
+        }
+
+        @Override
+        double selectivity(TaskStore store, long now) {
+            return 1 - negated.selectivity(store, now);
+        }
+
+        @Override
+        public String toString() {
+            return "!" + negated;
+        }
+    }
+
+    private static class Or extends TaskQuery {
+        private TaskQuery first;
+        private TaskQuery second;
+
+        Or(TaskQuery first, TaskQuery second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        boolean matches(Task task, long now) {
+            return first.matches(task, now) || second.matches(task, now);
+        }
+
+        // EFFECTS: returns the selectivity of the alternatives, assuming they are independent
+        @Override
+        double selectivity(TaskStore store, long now) {
+            double firstSelectivity = first.selectivity(store, now);
+            double secondSelectivity = second.selectivity(store, now);
+            return firstSelectivity + secondSelectivity - firstSelectivity * secondSelectivity;
+        }
+
+        // EFFECTS: returns the path that reads the union of the paths of both alternatives, or null unless both
+        //     are indexed; copying them into one set costs one unit per task. The union covers the disjunction if
+        //     each path covers its alternative.
+        @Override
+        AccessPath access(TaskStore store, long now) {
+            AccessPath firstPath = first.access(store, now);
+            AccessPath secondPath = firstPath == null ? null : second.access(store, now);
+            if (secondPath == null) {
+                return null;
+            }
+            List<TaskQuery> covered = new ArrayList<>();
+            if (firstPath.covers(first) && secondPath.covers(second)) {
+                covered.add(this);
+            }
+            long rows = firstPath.getEstimatedRows() + secondPath.getEstimatedRows();
+            return new AccessPath("union of " + firstPath.getDescription() + " and " + secondPath.getDescription(),
+                    rows, firstPath.getCost() + secondPath.getCost(), () -> {
+                        Set<Task> candidates = new LinkedIdentitySet<>();
+                        candidates.addAll(firstPath.read());
+                        candidates.addAll(secondPath.read());
+                        return candidates;
+                    }, covered);
+        }
+
+        @Override
+        public String toString() {
+            return "(" + first + " | " + second + ")";
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package model;
+
+import utility.LongMap;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+// Owns a list of tasks and keeps them indexed by id, status, priority level, due date, tag and the words of their
+// descriptions. The indexes are updated whenever a task is added to, removed from or replaced in the list, and,
+// as the store observes its tasks, whenever the description, status, priority, due date or tags of one of them
+// are set. Queries return views of the indexes. Saved views of the tasks that match a query are kept up to date
+// the same way.
+// Note: a task is to be in the store at most once
+public class TaskStore extends AbstractList<Task> implements RandomAccess, TaskObserver {
+    private static final int NUM_PRIORITY_LEVELS = 4;
+
+    private List<Task> tasks;
+    private Map<Task, IndexEntry> entries;
+    private LongMap<Task> byId;
+    private Map<Status, Set<Task>> byStatus;
+    private List<Set<Task>> byPriority;
+    private DueDateIndex byDueDate;
+    private TagIndex byTag;
+    private TextIndex byWord;
+    private List<SavedView> views;
+
+    // EFFECTS: constructs an empty store
+    public TaskStore() {
+        tasks = new ArrayList<>();
+        entries = new IdentityHashMap<>();
+        byId = new LongMap<>();
+        byStatus = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            byStatus.put(status, new LinkedIdentitySet<>());
+        }
+        byPriority = new ArrayList<>(NUM_PRIORITY_LEVELS);
+        for (int i = 0; i < NUM_PRIORITY_LEVELS; i++) {
+            byPriority.add(new LinkedIdentitySet<>());
+        }
+        byDueDate = new DueDateIndex();
+        byTag = new TagIndex();
+        byWord = new TextIndex();
+        views = new ArrayList<>();
+    }
+
+    // EFFECTS: constructs a store of tasks, in the order they are in
+    //  throws IllegalArgumentException if a task is in tasks more than once
+    public TaskStore(Collection<Task> tasks) {
+        this();
+        addAll(tasks);
+    }
+
+    @Override
+    public Task get(int index) {
+        return tasks.get(index);
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    // MODIFIES: this, task
+    // EFFECTS: inserts task at index, and starts indexing and observing it
+    //  throws IllegalArgumentException if task is already in this store
+    @Override
+    public void add(int index, Task task) {
+        checkNotStored(task);
+        tasks.add(index, task);
+        index(task);
+        modCount++;
+    }
+
+    // MODIFIES: this, task
+    // EFFECTS: replaces the task at index by task, and returns the replaced task, which is no longer indexed
+    //  throws IllegalArgumentException if task is in this store at another index
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = tasks.get(index);
+        if (previous != task) {
+            checkNotStored(task);
+            tasks.set(index, task);
+            unindex(previous);
+            index(task);
+        }
+        return previous;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes and returns the task at index, which is no longer indexed
+    @Override
+    public Task remove(int index) {
+        Task removed = tasks.remove(index);
+        unindex(removed);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        for (Task t : tasks) {
+            t.removeObserver(this);
+        }
+        tasks.clear();
+        entries.clear();
+        byId.clear();
+        byStatus.values().forEach(Set::clear);
+        byPriority.forEach(Set::clear);
+        byDueDate.clear();
+        byTag.clear();
+        byWord.clear();
+        views.forEach(SavedView::clear);
+        modCount++;
+    }
+
+    // EFFECTS: returns the task in this store whose id is id, or null if there is none
+    public Task getById(long id) {
+        return byId.get(id);
+    }
+
+    // EFFECTS: returns an unmodifiable view of the tasks with status, in the order they were indexed
+    public Set<Task> getTasks(Status status) {
+        return Collections.unmodifiableSet(byStatus.get(status));
+    }
+
+    // EFFECTS: returns an unmodifiable view of the tasks with the priority level of priority,
+    //     in the order they were indexed
+    public Set<Task> getTasks(Priority priority) {
+        return Collections.unmodifiableSet(byPriority.get(Todo.priorityLevel(priority) - 1));
+    }
+
+    // EFFECTS: returns an unmodifiable view of the tasks due at or after from and before to, by due date
+    public Collection<Task> getTasksDue(Date from, Date to) {
+        return byDueDate.range(from.getTime(), to.getTime());
+    }
+
+    // EFFECTS: returns an unmodifiable view of the tasks due before date, by due date
+    public Collection<Task> getTasksDueBefore(Date date) {
+        return byDueDate.before(date.getTime());
+    }
+
+    // EFFECTS: returns the index of the tasks that have a due date, which answers whether they are overdue,
+    //     due today, due tomorrow or due within a week
+    public DueDateIndex getDueDateIndex() {
+        return byDueDate;
+    }
+
+    // EFFECTS: returns the index of the tasks by tag, which answers boolean tag queries
+    public TagIndex getTagIndex() {
+        return byTag;
+    }
+
+    // EFFECTS: returns the index of the tasks by the words of their descriptions, which answers word and prefix
+    //     searches ranked by priority and due date
+    public TextIndex getTextIndex() {
+        return byWord;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a new view named name of the tasks that match query, ordered by priority and due date,
+    //     which is kept up to date until it is removed, as the tasks of this store are added, removed or edited
+    //     (including changes made in place to their priority or due date)
+    public SavedView addView(String name, TaskQuery query) {
+        return addView(name, query, SavedView.BY_PRIORITY_AND_DUE_DATE);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns a new view named name of the tasks that match query, ordered by order (then by id),
+    //     which is kept up to date until it is removed
+    public SavedView addView(String name, TaskQuery query, Comparator<Task> order) {
+        SavedView view = new SavedView(name, query, order, this);
+        views.add(view);
+        return view;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops keeping view up to date
+    public void removeView(SavedView view) {
+        views.remove(view);
+    }
+
+    // EFFECTS: returns an unmodifiable list of the views kept up to date, in the order they were added
+    public List<SavedView> getViews() {
+        return Collections.unmodifiableList(views);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes task if its status, priority or due date has been set, or its description has been set
+    //     (parsing the description may change its priority and due date in place); the words of task are only
+    //     re-indexed if its description, priority or due date has been set, as the latter two rank them.
+    //     Updates the tag index if a tag has been added to or removed from task. Then passes task to the views,
+    //     whatever field has been set
+    @Override
+    public void update(Task task, TaskField field, Object previous) {
+        if (field == TaskField.TAGS) {
+            byTag.update(task, (Tag) previous);
+        } else if (field != TaskField.PROGRESS && field != TaskField.ESTIMATED_TIME) {
+            removeFromIndexes(task, entries.get(task));
+            addToIndexes(task);
+            if (field != TaskField.STATUS) {
+                byWord.update(task);
+            }
+        }
+        for (SavedView view : views) {
+            view.taskChanged(task);
+        }
+    }
+
+    // EFFECTS: throws IllegalArgumentException if task is in this store
+    private void checkNotStored(Task task) {
+        if (entries.containsKey(task)) {
+            throw new IllegalArgumentException("Task is already in this store: " + task.getDescription());
+        }
+    }
+
+    // MODIFIES: this, task
+    // EFFECTS: adds task to the indexes and the views, and starts observing it
+    private void index(Task task) {
+        addToIndexes(task);
+        byId.put(task.getId(), task);
+        byTag.add(task);
+        byWord.add(task);
+        task.addObserver(this);
+        for (SavedView view : views) {
+            view.taskAdded(task);
+        }
+    }
+
+    // MODIFIES: this, task
+    // EFFECTS: removes task from the indexes and the views, and stops observing it
+    private void unindex(Task task) {
+        task.removeObserver(this);
+        removeFromIndexes(task, entries.remove(task));
+        if (byId.get(task.getId()) == task) {
+            byId.remove(task.getId());
+        }
+        byTag.remove(task);
+        byWord.remove(task);
+        for (SavedView view : views) {
+            view.taskRemoved(task);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds task to the index of its status, priority level and due date, and records where it was added
+    private void addToIndexes(Task task) {
+        IndexEntry entry = new IndexEntry(task);
+        byStatus.get(entry.status).add(task);
+        byPriority.get(entry.priorityLevel - 1).add(task);
+        if (entry.dueTime != null) {
+            byDueDate.add(task, entry.dueTime);
+        }
+        entries.put(task, entry);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes task from the indexes recorded in entry
+    private void removeFromIndexes(Task task, IndexEntry entry) {
+        byStatus.get(entry.status).remove(task);
+        byPriority.get(entry.priorityLevel - 1).remove(task);
+        if (entry.dueTime != null) {
+            byDueDate.remove(task, entry.dueTime);
+        }
+    }
+
+    // The keys under which a task is indexed; kept so that the task can be found in the indexes after its fields
+    // have changed
+    private static class IndexEntry {
+        private Status status;
+        private int priorityLevel;
+        private Long dueTime;  // null if the task has no due date
+
+        IndexEntry(Task task) {
+            status = task.getStatus();
+            priorityLevel = Todo.priorityLevel(task.getPriority());
+            dueTime = task.getDueDate() == null ? null : task.getDueDate().getDate().getTime();
+        }
+    }
+}
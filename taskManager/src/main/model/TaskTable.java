@@ -0,0 +1,290 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A columnar snapshot of a list of tasks, for reports that scan many tasks. Each field of the tasks is copied into
+// a primitive array indexed by row (the position of the task in the list):
+//     status:   the ordinal of the status
+//     priority: the priority level (see Todo.priorityLevel)
+//     due:      the due date in milliseconds since the epoch, or NO_DUE_DATE
+//     progress, hours: the progress and estimated time to complete
+//     tags:     the tag ids of row r are tagIds[tagStarts[r]] to tagIds[tagStarts[r + 1] - 1]; a tag id is the
+//               index of the tag in the dictionary of the table
+// A selection narrows the rows down by filtering one column at a time into a bitmap, and aggregates the columns
+// over the rows that are left. The table does not change when its tasks do.
+public class TaskTable {
+    public static final long NO_DUE_DATE = Long.MAX_VALUE;
+    private static final Status[] STATUSES = Status.values();
+
+    private Task[] tasks;
+    private byte[] status;
+    private byte[] priority;
+    private long[] due;
+    private byte[] progress;
+    private int[] hours;
+    private int[] tagStarts;
+    private int[] tagIds;
+    private Map<Tag, Integer> tagDictionary;
+
+    // EFFECTS: constructs a snapshot of tasks, with one row per task in the order they are in
+    public TaskTable(List<Task> tasks) {
+        this.tasks = tasks.toArray(new Task[0]);
+        int size = this.tasks.length;
+        status = new byte[size];
+        priority = new byte[size];
+        due = new long[size];
+        progress = new byte[size];
+        hours = new int[size];
+        tagStarts = new int[size + 1];
+        tagIds = new int[16];
+        tagDictionary = new IdentityHashMap<>();
+        for (int row = 0; row < size; row++) {
+            copyRow(row, this.tasks[row]);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the fields of task into row
+    private void copyRow(int row, Task task) {
+        status[row] = (byte) task.getStatus().ordinal();
+        priority[row] = (byte) Todo.priorityLevel(task.getPriority());
+        due[row] = task.getDueDate() == null ? NO_DUE_DATE : task.getDueDate().getDate().getTime();
+        progress[row] = (byte) task.getProgress();
+        hours[row] = task.getEstimatedTimeToComplete();
+        int numTagIds = tagStarts[row];
+        for (Tag tag : task.getTags()) {
+            if (numTagIds == tagIds.length) {
+                tagIds = Arrays.copyOf(tagIds, numTagIds * 2);
+            }
+            Integer id = tagDictionary.putIfAbsent(tag, tagDictionary.size());
+            tagIds[numTagIds++] = id == null ? tagDictionary.size() - 1 : id;
+        }
+        tagStarts[row + 1] = numTagIds;
+    }
+
+    // EFFECTS: returns the number of rows
+    public int size() {
+        return tasks.length;
+    }
+
+    // REQUIRES: 0 <= row < size()
+    // EFFECTS: returns the task that row was copied from
+    public Task getTask(int row) {
+        return tasks[row];
+    }
+
+    // EFFECTS: returns a selection of every row of this table
+    public Selection select() {
+        return new Selection();
+    }
+
+    // A set of rows of the table, kept as a bitmap; filters remove the rows that do not match them
+    public class Selection {
+        private long[] bits;
+
+        // EFFECTS: constructs a selection of every row
+        private Selection() {
+            bits = new long[(tasks.length + 63) >>> 6];
+            Arrays.fill(bits, -1L);
+            if ((tasks.length & 63) != 0) {
+                bits[bits.length - 1] = -1L >>> (64 - (tasks.length & 63));
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows whose status is s, and returns this selection
+        public Selection withStatus(Status s) {
+            byte ordinal = (byte) s.ordinal();
+            for (int word = 0; word < bits.length; word++) {
+                long matches = 0;
+                int base = word << 6;
+                for (int bit = 0, end = Math.min(64, tasks.length - base); bit < end; bit++) {
+                    matches |= (status[base + bit] == ordinal ? 1L : 0L) << bit;
+                }
+                bits[word] &= matches;
+            }
+            return this;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows whose priority level is between highest and lowest (inclusive; 1 is the
+        //     highest level), and returns this selection
+        public Selection withPriorityLevel(int highest, int lowest) {
+            for (int word = 0; word < bits.length; word++) {
+                long matches = 0;
+                int base = word << 6;
+                for (int bit = 0, end = Math.min(64, tasks.length - base); bit < end; bit++) {
+                    int level = priority[base + bit];
+                    matches |= (level >= highest && level <= lowest ? 1L : 0L) << bit;
+                }
+                bits[word] &= matches;
+            }
+            return this;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows whose priority is p, and returns this selection
+        public Selection withPriority(Priority p) {
+            int level = Todo.priorityLevel(p);
+            return withPriorityLevel(level, level);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows that are due at or after from and before to, and returns this selection
+        public Selection dueBetween(Date from, Date to) {
+            return dueBetween(from.getTime(), to.getTime());
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows that are due before date, and returns this selection
+        public Selection dueBefore(Date date) {
+            return dueBetween(Long.MIN_VALUE, date.getTime());
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows that have a due date, and returns this selection
+        public Selection withDueDate() {
+            return dueBetween(Long.MIN_VALUE, NO_DUE_DATE);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows due in [from, to) milliseconds since the epoch, and returns this selection
+        private Selection dueBetween(long from, long to) {
+            for (int word = 0; word < bits.length; word++) {
+                long matches = 0;
+                int base = word << 6;
+                for (int bit = 0, end = Math.min(64, tasks.length - base); bit < end; bit++) {
+                    long time = due[base + bit];
+                    matches |= (time >= from && time < to ? 1L : 0L) << bit;
+                }
+                bits[word] &= matches;
+            }
+            return this;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows whose progress is between min and max (inclusive), and returns this selection
+        public Selection withProgressBetween(int min, int max) {
+            for (int word = 0; word < bits.length; word++) {
+                long matches = 0;
+                int base = word << 6;
+                for (int bit = 0, end = Math.min(64, tasks.length - base); bit < end; bit++) {
+                    int value = progress[base + bit];
+                    matches |= (value >= min && value <= max ? 1L : 0L) << bit;
+                }
+                bits[word] &= matches;
+            }
+            return this;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: keeps the rows that have a tag named tagName, and returns this selection
+        //  throws EmptyStringException if tagName is null or empty
+        public Selection withTag(String tagName) {
+            Tag tag = TagRegistry.lookup(tagName);
+            Integer id = tag == null ? null : tagDictionary.get(tag);
+            if (id == null) {
+                Arrays.fill(bits, 0L);
+                return this;
+            }
+            for (int row = nextRow(0); row >= 0; row = nextRow(row + 1)) {
+                if (!hasTagId(row, id)) {
+                    bits[row >>> 6] &= ~(1L << row);
+                }
+            }
+            return this;
+        }
+
+        // EFFECTS: returns true if row has the tag with the given id
+        private boolean hasTagId(int row, int id) {
+            for (int i = tagStarts[row]; i < tagStarts[row + 1]; i++) {
+                if (tagIds[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // EFFECTS: returns the first selected row at or after from, or -1 if there is none
+        private int nextRow(int from) {
+            int word = from >>> 6;
+            if (word >= bits.length) {
+                return -1;
+            }
+            long remaining = bits[word] & (-1L << from);
+            while (remaining == 0) {
+                if (++word == bits.length) {
+                    return -1;
+                }
+                remaining = bits[word];
+            }
+            return (word << 6) + Long.numberOfTrailingZeros(remaining);
+        }
+
+        // EFFECTS: returns the number of selected rows
+        public int count() {
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        // EFFECTS: returns the total estimated time to complete of the selected rows
+        public long sumEstimatedTimeToComplete() {
+            long sum = 0;
+            for (int row = nextRow(0); row >= 0; row = nextRow(row + 1)) {
+                sum += hours[row];
+            }
+            return sum;
+        }
+
+        // EFFECTS: returns the average progress of the selected rows (rounded down), or 0 if there are none
+        public int averageProgress() {
+            long sum = 0;
+            for (int row = nextRow(0); row >= 0; row = nextRow(row + 1)) {
+                sum += progress[row];
+            }
+            int count = count();
+            return count == 0 ? 0 : (int) (sum / count);
+        }
+
+        // EFFECTS: returns the number of selected rows with each status
+        public Map<Status, Integer> countByStatus() {
+            int[] counts = new int[STATUSES.length];
+            for (int row = nextRow(0); row >= 0; row = nextRow(row + 1)) {
+                counts[status[row]]++;
+            }
+            Map<Status, Integer> byStatus = new EnumMap<>(Status.class);
+            for (Status s : STATUSES) {
+                byStatus.put(s, counts[s.ordinal()]);
+            }
+            return byStatus;
+        }
+
+        // EFFECTS: returns the selected rows in increasing order
+        public int[] getRows() {
+            int[] rows = new int[count()];
+            int i = 0;
+            for (int row = nextRow(0); row >= 0; row = nextRow(row + 1)) {
+                rows[i++] = row;
+            }
+            return rows;
+        }
+
+        // EFFECTS: returns the tasks of the selected rows, in the order of their rows
+        public List<Task> getTasks() {
+            List<Task> selected = new ArrayList<>(count());
+            for (int row = nextRow(0); row >= 0; row = nextRow(row + 1)) {
+                selected.add(tasks[row]);
+            }
+            return selected;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Inverted index of the words of the descriptions of tasks (as kept by the task, once TagParser has removed the
+// meta-data). A word is a maximal run of letters and digits, compared in lower case. Each word is mapped to the
+// tasks whose description has it, kept in rank order: by priority level, then by due date (tasks with no due date
+// last), then by id; so a search only reads as many tasks as it returns.
+public class TextIndex {
+    private static final Comparator<Document> RANK = TextIndex::compareRank;
+
+    private Map<Task, Document> documents;
+    private TreeMap<String, NavigableSet<Document>> byWord;
+
+    // EFFECTS: constructs an empty index
+    public TextIndex() {
+        documents = new IdentityHashMap<>();
+        byWord = new TreeMap<>();
+    }
+
+    // EFFECTS: returns the words of text, in lower case, in the order they first appear in text
+    public static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                String word = text.substring(start, i).toLowerCase();
+                if (!words.contains(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    // EFFECTS: returns the first limit tasks, in rank order, whose description has every word of query;
+    //     returns no task if query has no words
+    public List<Task> search(String query, int limit) {
+        return search(tokenize(query), false, limit);
+    }
+
+    // EFFECTS: returns the first limit tasks, in rank order, whose description has every word of query but the last,
+    //     and a word that starts with the last word of query; returns no task if query has no words
+    public List<Task> searchPrefix(String query, int limit) {
+        return search(tokenize(query), true, limit);
+    }
+
+    // EFFECTS: returns the first limit tasks in rank order that have every word of words, where the last one only
+    //     needs to be the prefix of a word if lastIsPrefix
+    private List<Task> search(List<String> words, boolean lastIsPrefix, int limit) {
+        List<Task> found = new ArrayList<>();
+        if (words.isEmpty()) {
+            return found;
+        }
+        Iterator<Document> candidates = candidates(words, lastIsPrefix);
+        while (candidates.hasNext() && found.size() < limit) {
+            Document candidate = candidates.next();
+            if (candidate.matches(words, lastIsPrefix)) {
+                found.add(candidate.task);
+            }
+        }
+        return found;
+    }
+
+    // EFFECTS: returns the documents, in rank order, of the least frequent word of words (not counting the last
+    //     one if lastIsPrefix), or of every word that starts with the last one if it is the only word
+    private Iterator<Document> candidates(List<String> words, boolean lastIsPrefix) {
+        NavigableSet<Document> rarest = null;
+        for (int i = 0; i < words.size() - (lastIsPrefix ? 1 : 0); i++) {
+            NavigableSet<Document> withWord = byWord.get(words.get(i));
+            if (withWord == null) {
+                return Collections.emptyIterator();
+            }
+            if (rarest == null || withWord.size() < rarest.size()) {
+                rarest = withWord;
+            }
+        }
+        return rarest != null ? rarest.iterator() : new PrefixIterator(words.get(words.size() - 1));
+    }
+
+    // EFFECTS: returns a negative number, zero or a positive number as first ranks before, with or after second
+    private static int compareRank(Document first, Document second) {
+        if (first.priorityLevel != second.priorityLevel) {
+            return first.priorityLevel - second.priorityLevel;
+        }
+        if (first.dueTime != second.dueTime) {
+            return first.dueTime < second.dueTime ? -1 : 1;
+        }
+        return Long.compare(first.id, second.id);
+    }
+
+    // REQUIRES: task is not in this index
+    // MODIFIES: this
+    // EFFECTS: adds task under each word of its description
+    void add(Task task) {
+        Document document = new Document(task);
+        documents.put(task, document);
+        for (String word : document.words) {
+            byWord.computeIfAbsent(word, w -> new TreeSet<>(RANK)).add(document);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes task from the index
+    void remove(Task task) {
+        Document document = documents.remove(task);
+        if (document != null) {
+            for (String word : document.words) {
+                NavigableSet<Document> withWord = byWord.get(word);
+                withWord.remove(document);
+                if (withWord.isEmpty()) {
+                    byWord.remove(word);
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes task after its description, priority or due date has been set
+    void update(Task task) {
+        if (documents.containsKey(task)) {
+            remove(task);
+            add(task);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every task from the index
+    void clear() {
+        documents.clear();
+        byWord.clear();
+    }
+
+    // A task as it is indexed: its words, and the keys it is ranked by when it was indexed
+    private static class Document {
+        private Task task;
+        private String[] words;  // sorted
+        private int priorityLevel;
+        private long dueTime;
+        private long id;
+
+        Document(Task task) {
+            this.task = task;
+            words = tokenize(task.getDescription()).toArray(new String[0]);
+            Arrays.sort(words);
+            priorityLevel = Todo.priorityLevel(task.getPriority());
+            dueTime = task.getDueDate() == null ? Long.MAX_VALUE : task.getDueDate().getDate().getTime();
+            id = task.getId();
+        }
+
+        // EFFECTS: returns true if this document has every word of query, where the last one only needs to be
+        //     the prefix of a word if lastIsPrefix
+        boolean matches(List<String> query, boolean lastIsPrefix) {
+            for (int i = 0; i < query.size(); i++) {
+                if (!hasWord(query.get(i), lastIsPrefix && i == query.size() - 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // EFFECTS: returns true if this document has word, or a word that starts with it if isPrefix
+        private boolean hasWord(String word, boolean isPrefix) {
+            int position = Arrays.binarySearch(words, word);
+            if (position >= 0) {
+                return true;
+            }
+            return isPrefix && -position - 1 < words.length && words[-position - 1].startsWith(word);
+        }
+    }
+
+    // Merges the documents of every word that starts with a prefix, in rank order and without duplicates
+    private class PrefixIterator implements Iterator<Document> {
+        private PriorityQueue<Head> heads;
+        private Document last;
+
+        PrefixIterator(String prefix) {
+            heads = new PriorityQueue<>((a, b) -> RANK.compare(a.document, b.document));
+            for (NavigableSet<Document> withWord : byWord.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                Iterator<Document> iterator = withWord.iterator();
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!heads.isEmpty() && heads.peek().document == last) {
+                advance();
+            }
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Document next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = heads.peek().document;
+            advance();
+            return last;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: moves the first head to the next document of its word
+        private void advance() {
+            Head head = heads.poll();
+            if (head.rest.hasNext()) {
+                head.document = head.rest.next();
+                heads.add(head);
+            }
+        }
+    }
+
+    // The next document of a word, and the documents after it
+    private static class Head {
+        private Document document;
+        private Iterator<Document> rest;
+
+        Head(Document document, Iterator<Document> rest) {
+            this.document = document;
+            this.rest = rest;
+        }
+    }
+}
@@ -3,7 +3,15 @@ package model;
 import model.exceptions.EmptyStringException;
 import model.exceptions.NullArgumentException;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
 public abstract class Todo {
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    private long id;
+    private List<Project> parents;  // the projects that contain this To do; null until it is added to one
     protected String description;
     protected Priority priority;
     protected int progress;
@@ -13,11 +21,13 @@ public abstract class Todo {
     // EFFECTS: sets the "description" using the given description
     //          sets "progress" and "estimated time to complete" to zero
     //          sets "priority" to unimportant and not urgent
+    //          assigns an id that no other To do has been given
     // throws EmptyStringException if description is null or empty
     public Todo(String description) throws EmptyStringException {
         if (description == null || description.length() == 0) {
             throw new EmptyStringException("Invalid description: cannot be null or empty!");
         } else {
+            id = NEXT_ID.getAndIncrement();
             this.description = description;
             progress = 0;
             etcHours = 0;
@@ -25,6 +35,57 @@ public abstract class Todo {
         }
     }
 
+    // EFFECTS: returns the id of this To do, which stays the same when it is edited, saved and read back
+    public long getId() {
+        return id;
+    }
+
+    // REQUIRES: id > 0, and id is not the id of another To do
+    // MODIFIES: this
+    // EFFECTS: sets the id of this To do to a stored id; later To dos are given ids greater than id
+    protected void restoreId(long id) {
+        this.id = id;
+        NEXT_ID.accumulateAndGet(id + 1, Math::max);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that this To do has been added to project
+    void addParent(Project project) {
+        if (parents == null) {
+            parents = new ArrayList<>(1);
+        }
+        parents.add(project);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that this To do has been removed from project
+    void removeParent(Project project) {
+        for (int i = 0; i < parents.size(); i++) {
+            if (parents.get(i) == project) {
+                parents.remove(i);
+                return;
+            }
+        }
+    }
+
+    // MODIFIES: the projects that contain this To do, directly or indirectly
+    // EFFECTS: updates the progress and estimated time to complete of the ancestors of this To do, after its
+    //     progress has changed by progressDelta and its estimated time to complete by hoursDelta.
+    //     Walks up one ancestor at a time, and stops as soon as neither value changes;
+    //     only the additional parents of a To do that is in several projects are updated recursively.
+    protected void propagateToParents(int progressDelta, int hoursDelta) {
+        Todo child = this;
+        while ((progressDelta != 0 || hoursDelta != 0) && child.parents != null && !child.parents.isEmpty()) {
+            for (int i = 1; i < child.parents.size(); i++) {
+                Project other = child.parents.get(i);
+                other.propagateToParents(other.addToTotals(progressDelta, hoursDelta), hoursDelta);
+            }
+            Project parent = child.parents.get(0);
+            progressDelta = parent.addToTotals(progressDelta, hoursDelta);
+            child = parent;
+        }
+    }
+
     // EFFECTS: returns the description
     public String getDescription() {
         return description;
@@ -53,4 +114,13 @@ public abstract class Todo {
     public Priority getPriority() {
         return priority;
     }
+
+    // EFFECTS: returns the priority level of priority: 1 if important and urgent, 2 if only important,
+    //     3 if only urgent, and 4 otherwise (as in the Priority(int) constructor)
+    public static int priorityLevel(Priority priority) {
+        if (priority.isImportant()) {
+            return priority.isUrgent() ? 1 : 2;
+        }
+        return priority.isUrgent() ? 3 : 4;
+    }
 }
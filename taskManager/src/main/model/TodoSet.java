@@ -0,0 +1,170 @@
+package model;
+
+import java.util.AbstractCollection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// A collection of distinct (by equals) to-dos that iterates over them in the order they were added.
+// Adding, removing and finding a to-do take constant time. The to-dos are members of the set by identity; to find
+// them by equals, each is also indexed by the hash code it had when it was added, and after a to-do has changed in
+// a way that affects equals, rehash must be called for it. If the change makes it equal to another to-do of the
+// set, both stay in the set, and the one that was indexed first is found by get and contains.
+class TodoSet extends AbstractCollection<Todo> {
+    private Map<Todo, Entry> entries;      // by identity
+    private Map<Integer, Entry> byHash;    // the first of the entries with each recorded hash code
+    private Entry head;
+    private Entry tail;
+
+    // EFFECTS: constructs an empty set
+    TodoSet() {
+        entries = new IdentityHashMap<>();
+        byHash = new HashMap<>();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    // EFFECTS: returns true if this set has a to-do equal to o
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Todo && get((Todo) o) != null;
+    }
+
+    // EFFECTS: returns the to-do in this set that is equal to todo, or null if there is none
+    Todo get(Todo todo) {
+        for (Entry entry = byHash.get(todo.hashCode()); entry != null; entry = entry.nextSameHash) {
+            if (entry.todo.equals(todo)) {
+                return entry.todo;
+            }
+        }
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds todo after the last to-do of this set, unless this set has todo or a to-do equal to it
+    @Override
+    public boolean add(Todo todo) {
+        if (entries.containsKey(todo) || get(todo) != null) {
+            return false;
+        }
+        Entry entry = new Entry(todo);
+        index(entry);
+        if (tail == null) {
+            head = entry;
+        } else {
+            tail.next = entry;
+            entry.previous = tail;
+        }
+        tail = entry;
+        entries.put(todo, entry);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes entry by its recorded hash code, after the entries indexed by the same hash code
+    private void index(Entry entry) {
+        Entry last = byHash.putIfAbsent(entry.hash, entry);
+        if (last != null) {
+            while (last.nextSameHash != null) {
+                last = last.nextSameHash;
+            }
+            last.nextSameHash = entry;
+            entry.previousSameHash = last;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes entry from the index by its recorded hash code; does not compare its to-do, which may have
+    //     changed since it was indexed
+    private void unindex(Entry entry) {
+        if (entry.previousSameHash != null) {
+            entry.previousSameHash.nextSameHash = entry.nextSameHash;
+        } else if (entry.nextSameHash != null) {
+            byHash.put(entry.hash, entry.nextSameHash);
+        } else {
+            byHash.remove(entry.hash);
+        }
+        if (entry.nextSameHash != null) {
+            entry.nextSameHash.previousSameHash = entry.previousSameHash;
+        }
+        entry.previousSameHash = null;
+        entry.nextSameHash = null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the to-do that is identical to o from this set
+    @Override
+    public boolean remove(Object o) {
+        Entry entry = entries.remove(o);
+        if (entry == null) {
+            return false;
+        }
+        unindex(entry);
+        if (entry.previous == null) {
+            head = entry.next;
+        } else {
+            entry.previous.next = entry.next;
+        }
+        if (entry.next == null) {
+            tail = entry.previous;
+        } else {
+            entry.next.previous = entry.previous;
+        }
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes todo by its current hash code, keeping its position in this set
+    void rehash(Todo todo) {
+        Entry entry = entries.get(todo);
+        if (entry != null) {
+            unindex(entry);
+            entry.hash = todo.hashCode();
+            index(entry);
+        }
+    }
+
+    // EFFECTS: returns an iterator over the to-dos of this set in the order they were added
+    @Override
+    public Iterator<Todo> iterator() {
+        return new Iterator<Todo>() {
+            private Entry next = head;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Todo next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Todo todo = next.todo;
+                next = next.next;
+                return todo;
+            }
+        };
+    }
+
+    // A to-do of the set, linked to the to-dos added before and after it, and to the to-dos indexed before and
+    // after it by the same hash code
+    private static class Entry {
+        private Todo todo;
+        private int hash;
+        private Entry previous;
+        private Entry next;
+        private Entry previousSameHash;
+        private Entry nextSameHash;
+
+        Entry(Todo todo) {
+            this.todo = todo;
+            hash = todo.hashCode();
+        }
+    }
+}
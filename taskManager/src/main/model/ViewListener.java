@@ -0,0 +1,14 @@
+package model;
+
+// Represents a listener that is notified whenever the ordered tasks of a saved view change
+public interface ViewListener {
+
+    // EFFECTS: reacts to task having been inserted into view at index
+    void added(SavedView view, int index, Task task);
+
+    // EFFECTS: reacts to task having been removed from view at index
+    void removed(SavedView view, int index, Task task);
+
+    // EFFECTS: reacts to a field of task, which stays at index in view, having been set
+    void changed(SavedView view, int index, Task task);
+}
@@ -0,0 +1,89 @@
+package model;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+// A set that compares its elements by identity and refers to them weakly: an element that is not reachable
+// otherwise is dropped from the set once it has been garbage collected. Safe to use from several threads.
+class WeakIdentitySet<E> {
+    private Set<Element<E>> elements;
+    private ReferenceQueue<E> collected;  // the elements that have been garbage collected, to drop them
+
+    // EFFECTS: constructs an empty set
+    WeakIdentitySet() {
+        elements = new HashSet<>();
+        collected = new ReferenceQueue<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds e to this set if it is not already in it
+    synchronized void add(E e) {
+        expunge();
+        if (!elements.contains(new Element<>(e, null))) {
+            elements.add(new Element<>(e, collected));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes e from this set
+    synchronized void remove(E e) {
+        expunge();
+        elements.remove(new Element<>(e, null));
+    }
+
+    // EFFECTS: returns true if e is in this set
+    synchronized boolean contains(E e) {
+        return elements.contains(new Element<>(e, null));
+    }
+
+    // EFFECTS: returns a new set (compared by identity) of the elements of this set that have not been collected
+    synchronized Set<E> toSet() {
+        expunge();
+        Set<E> set = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Element<E> element : elements) {
+            E e = element.get();
+            if (e != null) {
+                set.add(e);
+            }
+        }
+        return set;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the elements that have been garbage collected
+    private void expunge() {
+        Reference<? extends E> reference;
+        while ((reference = collected.poll()) != null) {
+            elements.remove(reference);
+        }
+    }
+
+    // A weak reference to an element, equal to the references to the same element while it has not been collected
+    private static class Element<E> extends WeakReference<E> {
+        private final int hash;
+
+        Element(E e, ReferenceQueue<E> queue) {
+            super(e, queue);
+            hash = System.identityHashCode(e);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            Object e = get();
+            return o instanceof Element && e != null && e == ((Element<?>) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
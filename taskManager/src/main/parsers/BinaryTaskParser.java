@@ -0,0 +1,172 @@
+package parsers;
+
+import model.DueDate;
+import model.Priority;
+import model.Status;
+import model.Tag;
+import model.TagRegistry;
+import model.Task;
+import persistence.DueDateCodec;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static persistence.BinaryTaskWriter.*;
+
+// Represents a parser of tasks encoded in the binary task format written by BinaryTaskWriter
+public class BinaryTaskParser {
+    private static final Status[] STATUSES = Status.values();
+
+    // EFFECTS: returns true if header starts with the magic bytes of the binary task format
+    public static boolean isBinaryFormat(byte[] header) {
+        return header.length >= MAGIC.length && Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC);
+    }
+
+    // EFFECTS: reads every task encoded in input and returns them in the order they were written
+    //  throws IOException if input cannot be read, is not in the binary task format, or is truncated
+    public List<Task> parse(InputStream input) throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        Iterator<Task> iterator = iterate(input);
+
+        try {
+            while (iterator.hasNext()) {
+                tasks.add(iterator.next());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return tasks;
+    }
+
+    // EFFECTS: reads the header and tag dictionary encoded in input and returns an iterator that decodes
+    //     each task as it is requested
+    //  throws IOException if the header or dictionary cannot be read, or input is not in the binary task format;
+    //     the iterator throws UncheckedIOException if a task cannot be read
+    public Iterator<Task> iterate(InputStream input) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(input));
+        byte[] magic = new byte[MAGIC.length];
+
+        data.readFully(magic);
+        if (!isBinaryFormat(magic)) {
+            throw new IOException("Not a binary task file");
+        }
+        int version = data.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary task file version: " + version);
+        }
+        Tag[] dictionary = new Tag[readVarInt(data)];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = TagRegistry.intern(readString(data));
+        }
+        return new TaskIterator(data, dictionary, readVarInt(data), version > 1);
+    }
+
+    // EFFECTS: reads a single task from data, resolving its tags in dictionary; the task keeps its stored id
+    //     if hasIds, and is given a new id otherwise
+    private static Task readTask(DataInputStream data, Tag[] dictionary, boolean hasIds) throws IOException {
+        int flags = data.readUnsignedByte();
+        long id = hasIds ? readVarLong(data) : 0;
+        DueDate dueDate = null;
+        if ((flags & DUE_DATE_FLAG) != 0) {
+            long zigZag = readVarLong(data);
+            long epochMinute = (zigZag >>> 1) ^ -(zigZag & 1);
+            dueDate = DueDateCodec.fromEpochMinute(epochMinute);
+        }
+        int progress = data.readUnsignedByte();
+        int etcHours = readVarInt(data);
+        String description = readString(data);
+        Task task = id > 0 ? Task.restore(id, description) : Task.restore(description);
+        int numTags = readVarInt(data);
+        for (int i = 0; i < numTags; i++) {
+            task.addTag(dictionary[readVarInt(data)]);
+        }
+        setFields(task, flags, dueDate, progress, etcHours);
+        return task;
+    }
+
+    // MODIFIES: task
+    // EFFECTS: sets the status and priority packed in flags (see BinaryTaskWriter.flags),
+    //     and the due date, progress and estimated time to complete of task
+    public static void setFields(Task task, int flags, DueDate dueDate, int progress, int etcHours) {
+        Priority priority = new Priority();
+        priority.setImportant((flags & IMPORTANT_FLAG) != 0);
+        priority.setUrgent((flags & URGENT_FLAG) != 0);
+
+        task.setStatus(STATUSES[flags & STATUS_MASK]);
+        task.setPriority(priority);
+        task.setDueDate(dueDate);
+        task.setProgress(progress);
+        task.setEstimatedTimeToComplete(etcHours);
+    }
+
+    // EFFECTS: reads a varint byte length followed by that many UTF-8 bytes
+    private static String readString(DataInputStream data) throws IOException {
+        byte[] bytes = new byte[readVarInt(data)];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // EFFECTS: reads a non-negative varint that fits in an int
+    private static int readVarInt(DataInputStream data) throws IOException {
+        long value = readVarLong(data);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("Malformed varint");
+        }
+        return (int) value;
+    }
+
+    // EFFECTS: reads a value written in 7-bit groups, least significant first
+    private static long readVarLong(DataInputStream data) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    // Iterator over a known number of tasks that are decoded one at a time
+    private static class TaskIterator implements Iterator<Task> {
+        private DataInputStream data;
+        private Tag[] dictionary;
+        private int remaining;
+        private boolean hasIds;
+
+        TaskIterator(DataInputStream data, Tag[] dictionary, int numTasks, boolean hasIds) {
+            this.data = data;
+            this.dictionary = dictionary;
+            remaining = numTasks;
+            this.hasIds = hasIds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            try {
+                return readTask(data, dictionary, hasIds);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package parsers;
+
+import org.json.JSONTokener;
+
+import java.util.NoSuchElementException;
+
+// Reads the elements of a JSONArray one at a time, without holding the rest of the array in memory
+class JsonArrayReader {
+    private JSONTokener tokener;
+    private boolean endOfArray;
+
+    // EFFECTS: consumes the opening bracket of the JSONArray read by tokener
+    //  throws JSONException if the input does not start with '['
+    JsonArrayReader(JSONTokener tokener) {
+        this.tokener = tokener;
+        if (tokener.nextClean() != '[') {
+            throw tokener.syntaxError("A JSONArray text must start with '['");
+        }
+        endOfArray = tokener.nextClean() == ']';
+        if (!endOfArray) {
+            tokener.back();
+        }
+    }
+
+    // EFFECTS: returns true if there is another element left in the array
+    boolean hasNext() {
+        return !endOfArray;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads and returns the next element of the array
+    //  throws JSONException if the element or the separator that follows it is malformed
+    Object next() {
+        if (endOfArray) {
+            throw new NoSuchElementException();
+        }
+        Object element = tokener.nextValue();
+        skipSeparator();
+        return element;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: consumes the ',' or ']' that follows an element of the array
+    private void skipSeparator() {
+        switch (tokener.nextClean()) {
+            case ',':
+                break;
+            case ']':
+                endOfArray = true;
+                break;
+            default:
+                throw tokener.syntaxError("Expected a ',' or ']'");
+        }
+    }
+}
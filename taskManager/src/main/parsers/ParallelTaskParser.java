@@ -0,0 +1,169 @@
+package parsers;
+
+import model.Task;
+import org.json.JSONException;
+import org.json.JSONTokener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Parses the tasks of a JSONArray on a ForkJoinPool. The top-level array is first split at record boundaries
+// by a single scan that only tracks brackets and strings; ranges of records are then parsed as separate arrays
+// in parallel, and the tasks are collected in the order of their records.
+// Note: this is for callers that already hold a whole file in memory; JsonFileIO does not use it, as it streams the
+// task file through parse(Reader) so that only one record is held in memory at a time.
+class ParallelTaskParser {
+    static final int RECORDS_PER_TASK = 512;
+
+    private String input;
+    private int[] separators;  // index of '[', of each top-level ',', and of the closing ']'
+    private int numSeparators;
+    private int numRecords;
+    private Task[] tasks;
+
+    // EFFECTS: splits the JSONArray represented by input at its record boundaries
+    //  throws JSONException if input is not an array, or has unbalanced or mismatched brackets or an unterminated
+    //  string
+    ParallelTaskParser(String input) {
+        this.input = input;
+        separators = new int[16];
+        scan();
+    }
+
+    // EFFECTS: parses every record on pool and returns the well-formed tasks in the order of their records
+    //  throws JSONException if a record is not valid JSON
+    List<Task> parse(ForkJoinPool pool) {
+        tasks = new Task[numRecords];
+        if (numRecords > 0) {
+            pool.invoke(new ParseRange(0, numRecords));
+        }
+
+        List<Task> parsed = new ArrayList<>(numRecords);
+        for (Task t : tasks) {
+            if (t != null) {
+                parsed.add(t);
+            }
+        }
+        return parsed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the position of the brackets and top-level commas of the array
+    private void scan() {
+        int start = skipWhitespace(0);
+        if (start == input.length() || input.charAt(start) != '[') {
+            throw new JSONException("A JSONArray text must start with '['");
+        }
+        addSeparator(start);
+        StringBuilder closers = new StringBuilder();  // the closing bracket of each open nested array or object
+        for (int i = start + 1; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '"') {
+                i = skipString(i);
+            } else if (c == '[' || c == '{') {
+                closers.append(c == '[' ? ']' : '}');
+            } else if (c == ']' || c == '}') {
+                if (close(closers, i)) {
+                    endArray(i);
+                    return;
+                }
+            } else if (c == ',' && closers.length() == 0) {
+                addSeparator(i);
+            }
+        }
+        throw new JSONException("A JSONArray text must end with ']'");
+    }
+
+    // MODIFIES: closers
+    // EFFECTS: closes the innermost open nested array or object with the bracket at position, or returns true if
+    //     there is none, as the bracket then closes the top-level array
+    //  throws JSONException if the bracket is not the one expected
+    private boolean close(StringBuilder closers, int position) {
+        int depth = closers.length();
+        char expected = depth == 0 ? ']' : closers.charAt(depth - 1);
+        if (input.charAt(position) != expected) {
+            throw new JSONException("Expected '" + expected + "' at " + position);
+        }
+        closers.setLength(Math.max(0, depth - 1));
+        return depth == 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the closing bracket of the array at position, and counts its records
+    private void endArray(int position) {
+        addSeparator(position);
+        numRecords = numSeparators - 1;
+        if (numRecords == 1 && skipWhitespace(separators[0] + 1) == position) {
+            numRecords = 0;
+        }
+        if (skipWhitespace(position + 1) != input.length()) {
+            throw new JSONException("Unexpected text after the end of the JSONArray");
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records a separator at position
+    private void addSeparator(int position) {
+        if (numSeparators == separators.length) {
+            separators = Arrays.copyOf(separators, separators.length * 2);
+        }
+        separators[numSeparators++] = position;
+    }
+
+    // EFFECTS: returns the position of the quote that closes the string opened at position
+    //  throws JSONException if the string is not terminated
+    private int skipString(int position) {
+        for (int i = position + 1; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                return i;
+            }
+        }
+        throw new JSONException("Unterminated string");
+    }
+
+    // EFFECTS: returns the position of the first character at or after position that is not whitespace
+    private int skipWhitespace(int position) {
+        while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    // Parses the records in [from, to) into their slots of tasks, splitting the range while it is large
+    private class ParseRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private int from;
+        private int to;
+
+        ParseRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= RECORDS_PER_TASK) {
+                parseRecords();
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseRange(from, middle), new ParseRange(middle, to));
+            }
+        }
+
+        // EFFECTS: parses the records in [from, to) as an array of their own
+        private void parseRecords() {
+            String records = input.substring(separators[from] + 1, separators[to]);
+            JsonArrayReader elements = new JsonArrayReader(new JSONTokener("[" + records + "]"));
+            for (int i = from; i < to; i++) {
+                tasks[i] = TaskParser.parseTask(elements.next());
+            }
+        }
+    }
+}
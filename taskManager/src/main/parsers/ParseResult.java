@@ -0,0 +1,75 @@
+package parsers;
+
+import model.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Represents the outcome of a validating parse: the tasks that were parsed, and how many records were rejected
+// for each reason
+public class ParseResult {
+
+    // The reason a record was rejected, named after the first field of the record found to be malformed
+    public enum Rejection {
+        NOT_AN_OBJECT,
+        INVALID_ID,
+        MISSING_DESCRIPTION,
+        INVALID_TAGS,
+        INVALID_DUE_DATE,
+        INVALID_PRIORITY,
+        INVALID_STATUS,
+        UNEXPECTED
+    }
+
+    private List<Task> tasks;
+    private int[] rejections;
+    private int numRejected;
+
+    // EFFECTS: constructs a result with no tasks and no rejected records
+    public ParseResult() {
+        tasks = new ArrayList<>();
+        rejections = new int[Rejection.values().length];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds task to the parsed tasks
+    void addTask(Task task) {
+        tasks.add(task);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts a record rejected for reason
+    void reject(Rejection reason) {
+        rejections[reason.ordinal()]++;
+        numRejected++;
+    }
+
+    // EFFECTS: returns the parsed tasks, in the order they were read
+    public List<Task> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    // EFFECTS: returns the total number of rejected records
+    public int getNumRejected() {
+        return numRejected;
+    }
+
+    // EFFECTS: returns the number of records rejected for reason
+    public int getNumRejected(Rejection reason) {
+        return rejections[reason.ordinal()];
+    }
+
+    // EFFECTS: returns the number of rejected records for every reason at least one record was rejected for
+    public Map<Rejection, Integer> getRejections() {
+        Map<Rejection, Integer> counts = new EnumMap<>(Rejection.class);
+        for (Rejection reason : Rejection.values()) {
+            if (rejections[reason.ordinal()] > 0) {
+                counts.put(reason, rejections[reason.ordinal()]);
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,228 @@
+package parsers;
+
+import model.Status;
+import model.TaskQuery;
+import parsers.exceptions.ParsingException;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Parses filter queries such as "#work & urgent & status:IN_PROGRESS & due<7d" into a TaskQuery.
+// A query combines terms with & (and), | (or), ! (not) and parentheses; ! binds tighter than &, and & tighter
+// than |. The terms are:
+//     #name                       the tasks with the tag name
+//     important, urgent           the tasks with that priority flag
+//     overdue                     the tasks due before now
+//     status:STATUS               the tasks with status (TODO, UP_NEXT, IN_PROGRESS or DONE, in any case)
+//     due<N, due<=N, due>N, due>=N   the tasks due before or after now + N, where N is a whole number of
+//                                 hours, days or weeks (e.g. 12h, 7d, -1w)
+//     due:none                    the tasks with no due date
+//     progress OP P, etcHours OP H   the tasks whose progress or estimated hours compare with P or H by
+//                                 OP, one of <, <=, >, >=, = and :
+public class QueryParser {
+    private static final Pattern COMPARISON = Pattern.compile("([A-Za-z]+)(<=|>=|<|>|=|:)(.+)");
+    private static final Pattern DURATION = Pattern.compile("(-?\\d+)([hdw])");
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final String OPERATORS = "&|!()";
+
+    private String query;
+    private int position;
+
+    // EFFECTS: returns the query compiled from text
+    //  throws ParsingException if text is not a well-formed query
+    public TaskQuery parse(String text) throws ParsingException {
+        query = text;
+        position = 0;
+        TaskQuery parsed = parseOr();
+        if (peek() != -1) {
+            throw new ParsingException("Unexpected '" + (char) peek() + "' at " + position + " in: " + text);
+        }
+        return parsed;
+    }
+
+    // EFFECTS: parses alternatives separated by |
+    private TaskQuery parseOr() throws ParsingException {
+        TaskQuery parsed = parseAnd();
+        while (peek() == '|') {
+            position++;
+            parsed = parsed.or(parseAnd());
+        }
+        return parsed;
+    }
+
+    // EFFECTS: parses conjuncts separated by &
+    private TaskQuery parseAnd() throws ParsingException {
+        TaskQuery parsed = parseNot();
+        while (peek() == '&') {
+            position++;
+            parsed = parsed.and(parseNot());
+        }
+        return parsed;
+    }
+
+    // EFFECTS: parses a term, a negated query or a query in parentheses
+    private TaskQuery parseNot() throws ParsingException {
+        int next = peek();
+        if (next == '!') {
+            position++;
+            return TaskQuery.not(parseNot());
+        }
+        if (next == '(') {
+            position++;
+            TaskQuery parsed = parseOr();
+            if (peek() != ')') {
+                throw new ParsingException("Missing ')' at " + position + " in: " + query);
+            }
+            position++;
+            return parsed;
+        }
+        return parseTerm(readWord());
+    }
+
+    // EFFECTS: returns the query of a single term
+    private TaskQuery parseTerm(String term) throws ParsingException {
+        if (term.startsWith("#") && term.length() > 1) {
+            return TaskQuery.tag(term.substring(1));
+        }
+        switch (term.toLowerCase(Locale.ROOT)) {
+            case "important":
+                return TaskQuery.important();
+            case "urgent":
+                return TaskQuery.urgent();
+            case "overdue":
+                return TaskQuery.dueBetween(TaskQuery.UNBOUNDED, 0);
+            default:
+                return parseComparison(term);
+        }
+    }
+
+    // EFFECTS: returns the query of a term that compares a field with a value
+    private TaskQuery parseComparison(String term) throws ParsingException {
+        Matcher comparison = COMPARISON.matcher(term);
+        if (!comparison.matches()) {
+            throw new ParsingException("Unknown term: " + term);
+        }
+        String operator = comparison.group(2);
+        String value = comparison.group(3);
+        switch (comparison.group(1).toLowerCase(Locale.ROOT)) {
+            case "status":
+                return TaskQuery.status(parseStatus(operator, value));
+            case "due":
+                return parseDue(operator, value);
+            case "progress":
+                int progress = parseInt(value);
+                return TaskQuery.progressBetween(lowerBound(operator, progress), upperBound(operator, progress));
+            case "etchours":
+                int hours = parseInt(value);
+                return TaskQuery.etcHoursBetween(lowerBound(operator, hours), upperBound(operator, hours));
+            default:
+                throw new ParsingException("Unknown field: " + comparison.group(1));
+        }
+    }
+
+    // EFFECTS: returns the status named value
+    //  throws ParsingException if operator is not : or =, or value is not the name of a status
+    private static Status parseStatus(String operator, String value) throws ParsingException {
+        if (!operator.equals(":") && !operator.equals("=")) {
+            throw new ParsingException("Statuses can only be compared with : or =");
+        }
+        try {
+            return Status.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new ParsingException("Unknown status: " + value);
+        }
+    }
+
+    // EFFECTS: returns the query of a due date comparison
+    private static TaskQuery parseDue(String operator, String value) throws ParsingException {
+        boolean equality = operator.equals(":") || operator.equals("=");
+        if (equality && value.equalsIgnoreCase("none")) {
+            return TaskQuery.noDueDate();
+        }
+        Matcher duration = DURATION.matcher(value.toLowerCase(Locale.ROOT));
+        if (equality || !duration.matches()) {
+            throw new ParsingException("Due dates are compared with <, <=, > or >= to a number of h, d or w");
+        }
+        long unit = duration.group(2).equals("h") ? HOUR : duration.group(2).equals("d") ? 24 * HOUR : 168 * HOUR;
+        long offset = parseInt(duration.group(1)) * unit;
+        switch (operator) {
+            case "<":
+                return TaskQuery.dueBetween(TaskQuery.UNBOUNDED, offset);
+            case "<=":
+                return TaskQuery.dueBetween(TaskQuery.UNBOUNDED, offset + 1);
+            case ">":
+                return TaskQuery.dueBetween(offset + 1, TaskQuery.UNBOUNDED);
+            default:
+                return TaskQuery.dueBetween(offset, TaskQuery.UNBOUNDED);
+        }
+    }
+
+    // EFFECTS: returns the smallest int that compares with value by operator
+    //  throws ParsingException if no int does (i.e., operator is > and value is the largest int)
+    private static int lowerBound(String operator, int value) throws ParsingException {
+        switch (operator) {
+            case "<":
+            case "<=":
+                return Integer.MIN_VALUE;
+            case ">":
+                if (value == Integer.MAX_VALUE) {
+                    throw new ParsingException("No whole number is > " + value);
+                }
+                return value + 1;
+            default:
+                return value;
+        }
+    }
+
+    // EFFECTS: returns the largest int that compares with value by operator
+    //  throws ParsingException if no int does (i.e., operator is < and value is the smallest int)
+    private static int upperBound(String operator, int value) throws ParsingException {
+        switch (operator) {
+            case ">":
+            case ">=":
+                return Integer.MAX_VALUE;
+            case "<":
+                if (value == Integer.MIN_VALUE) {
+                    throw new ParsingException("No whole number is < " + value);
+                }
+                return value - 1;
+            default:
+                return value;
+        }
+    }
+
+    // EFFECTS: returns value as an int
+    //  throws ParsingException if value is not a whole number
+    private static int parseInt(String value) throws ParsingException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ParsingException("Not a whole number: " + value);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads the term at the current position, up to the next space or operator
+    //  throws ParsingException if there is no term at the current position
+    private String readWord() throws ParsingException {
+        int start = position;
+        while (position < query.length() && !Character.isWhitespace(query.charAt(position))
+                && OPERATORS.indexOf(query.charAt(position)) < 0) {
+            position++;
+        }
+        if (start == position) {
+            throw new ParsingException("Expected a term at " + position + " in: " + query);
+        }
+        return query.substring(start, position);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: skips whitespace and returns the next character, or -1 at the end of the query
+    private int peek() {
+        while (position < query.length() && Character.isWhitespace(query.charAt(position))) {
+            position++;
+        }
+        return position < query.length() ? query.charAt(position) : -1;
+    }
+}
@@ -5,11 +5,17 @@ import model.Priority;
 import model.Status;
 import model.Task;
 import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
+import persistence.DueDateCodec;
 
+import java.io.Reader;
 import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 // Represents Task parser
 public class TaskParser {
@@ -25,27 +31,91 @@ public class TaskParser {
         JSONArray taskArray = new JSONArray(input);
 
         for (Object object : taskArray) {
-            try {
-                JSONObject taskJson = (JSONObject) object;
+            Task task = parseTask(object);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
 
-                String description = taskJson.getString("description");
-                Task task = new Task(description);
+    // EFFECTS: parses the JSONArray represented by input like parse(String), but splits the array at record
+    // boundaries and parses ranges of records in parallel on the common ForkJoinPool; the tasks are returned in
+    // the order of their records, and malformed records are skipped as they are by parse(String).
+    // Note: input is a string representation of a JSONArray, so the whole array is held in memory; JsonFileIO
+    // streams the task file through parse(Reader) instead, and does not call this method
+    public List<Task> parseParallel(String input) {
+        return parseParallel(input, ForkJoinPool.commonPool());
+    }
 
-                setTags(taskJson, task);
+    // EFFECTS: parses the JSONArray represented by input like parseParallel(String), on pool
+    public List<Task> parseParallel(String input, ForkJoinPool pool) {
+        return new ParallelTaskParser(input).parse(pool);
+    }
 
-                setDueDate(taskJson, task);
+    // EFFECTS: returns an iterator over the tasks of the JSONArray read from input; every JSONObject
+    // is parsed as a task as soon as it has been read, so only one record is held in memory at a time.
+    // Any task that cannot be parsed due to malformed JSON data is skipped by the iterator.
+    // Note: input is a reader of a JSONArray; syntax errors in the array surface as a JSONException
+    public Iterator<Task> parse(Reader input) {
+        return new TaskIterator(new JsonArrayReader(new JSONTokener(input)));
+    }
 
-                setJsonPriority(taskJson, task);
+    // EFFECTS: reads the JSONArray from input one element at a time like parse(Reader), but checks the shape of
+    // every record before building its task instead of relying on exceptions; returns the parsed tasks together
+    // with the number of records that were rejected for each reason.
+    // Note: input is a reader of a JSONArray; syntax errors in the array surface as a JSONException
+    public ParseResult parseValidated(Reader input) {
+        ParseResult result = new ParseResult();
+        JsonArrayReader elements = new JsonArrayReader(new JSONTokener(input));
+
+        while (elements.hasNext()) {
+            Object record = elements.next();
+            ParseResult.Rejection rejection = TaskValidator.check(record);
+            Task task = rejection == null ? parseTask(record) : null;
+            if (task != null) {
+                result.addTask(task);
+            } else {
+                result.reject(rejection == null ? ParseResult.Rejection.UNEXPECTED : rejection);
+            }
+        }
+        return result;
+    }
 
-                String statusJson = taskJson.getString("status");
-                setJsonStatus(statusJson, task);
+    // EFFECTS: parses object as a task, returns null if it cannot be parsed due to malformed JSON data
+    public static Task parseTask(Object object) {
+        try {
+            JSONObject taskJson = (JSONObject) object;
 
-                tasks.add(task);
-            } catch (RuntimeException e) {
-                continue;
-            }
+            Task task = restoreTask(taskJson);
+
+            setDueDate(taskJson, task);
+
+            setJsonPriority(taskJson, task);
+
+            String statusJson = taskJson.getString("status");
+            setJsonStatus(statusJson, task);
+
+            setTags(taskJson, task);
+
+            return task;
+        } catch (RuntimeException e) {
+            return null;
         }
-        return tasks;
+    }
+
+    // EFFECTS: returns a task with the description and, if it has been stored, the id of taskJson
+    //  throws JSONException if the description is missing or the id is not positive
+    private static Task restoreTask(JSONObject taskJson) {
+        String description = taskJson.getString("description");
+        if (!taskJson.has("id")) {
+            return Task.restore(description);
+        }
+        long id = taskJson.getLong("id");
+        if (id <= 0) {
+            throw new JSONException("Invalid id: " + id);
+        }
+        return Task.restore(id, description);
     }
 
     private static void setTags(JSONObject taskJson, Task task) {
@@ -61,14 +131,7 @@ public class TaskParser {
         if (!(ajson.get("due-date") == JSONObject.NULL)) {
             JSONObject duedateJson;
             duedateJson = (JSONObject) ajson.get("due-date");
-            Calendar cal = Calendar.getInstance();
-            cal.set(Calendar.MINUTE, (int) duedateJson.get("minute"));
-            cal.set(Calendar.HOUR_OF_DAY, (int) duedateJson.get("hour"));
-            cal.set(Calendar.DAY_OF_MONTH, (int) duedateJson.get("day"));
-            cal.set(Calendar.MONTH, (int) duedateJson.get("month"));
-            cal.set(Calendar.YEAR, (int) duedateJson.get("year"));
-            DueDate dueDate = new DueDate(cal.getTime());
-            task.setDueDate(dueDate);
+            task.setDueDate(DueDateCodec.fromJson(duedateJson));
         }
     }
 
@@ -88,6 +151,11 @@ public class TaskParser {
     }
 
     private static void setJsonStatus(String statusJson, Task task) {
+        task.setStatus(parseStatus(statusJson));
+    }
+
+    // EFFECTS: returns the status represented by statusJson, or null if it does not represent a status
+    public static Status parseStatus(String statusJson) {
         Status status = null;
 
         if (statusJson.equals("IN_PROGRESS")) {
@@ -100,7 +168,36 @@ public class TaskParser {
             status = Status.DONE;
         }
 
-        task.setStatus(status);
+        return status;
     }
 
+    // Iterator over the tasks of a JSONArray that is read one element at a time
+    private static class TaskIterator implements Iterator<Task> {
+        private JsonArrayReader elements;
+        private Task nextTask;
+
+        TaskIterator(JsonArrayReader elements) {
+            this.elements = elements;
+        }
+
+        // EFFECTS: returns true if there is another well-formed task left in the array
+        @Override
+        public boolean hasNext() {
+            while (nextTask == null && elements.hasNext()) {
+                nextTask = parseTask(elements.next());
+            }
+            return nextTask != null;
+        }
+
+        // EFFECTS: returns the next well-formed task in the array
+        @Override
+        public Task next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Task task = nextTask;
+            nextTask = null;
+            return task;
+        }
+    }
 }
@@ -0,0 +1,132 @@
+package parsers;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import parsers.ParseResult.Rejection;
+
+import static persistence.DueDateCodec.EPOCH_KEY;
+
+// Checks that a JSON record has the shape TaskParser.parseTask expects, using type checks only,
+// so that malformed records can be rejected without throwing. A value is accepted exactly when the JSONObject
+// getter that parseTask reads it with accepts it (e.g. a number may also be a string of digits).
+class TaskValidator {
+    private static final String[] DUE_DATE_FIELDS = {"minute", "hour", "day", "month", "year"};
+
+    // EFFECTS: returns the reason record would be rejected, or null if every field of record is well-formed
+    static Rejection check(Object record) {
+        if (!(record instanceof JSONObject)) {
+            return Rejection.NOT_AN_OBJECT;
+        }
+        JSONObject taskJson = (JSONObject) record;
+
+        if (taskJson.has("id") && !isId(taskJson.opt("id"))) {
+            return Rejection.INVALID_ID;
+        }
+        if (!isNonEmptyString(taskJson.opt("description"))) {
+            return Rejection.MISSING_DESCRIPTION;
+        }
+        if (!isValidTags(taskJson.opt("tags"))) {
+            return Rejection.INVALID_TAGS;
+        }
+        if (!isValidDueDate(taskJson.opt("due-date"))) {
+            return Rejection.INVALID_DUE_DATE;
+        }
+        if (!isValidPriority(taskJson.opt("priority"))) {
+            return Rejection.INVALID_PRIORITY;
+        }
+        Object status = taskJson.opt("status");
+        if (!(status instanceof String) || TaskParser.parseStatus((String) status) == null) {
+            return Rejection.INVALID_STATUS;
+        }
+        return null;
+    }
+
+    // EFFECTS: returns true if tags is an array of objects that each have a non-empty name
+    private static boolean isValidTags(Object tags) {
+        if (!(tags instanceof JSONArray)) {
+            return false;
+        }
+        for (Object tag : (JSONArray) tags) {
+            if (!(tag instanceof JSONObject) || !isNonEmptyString(((JSONObject) tag).opt("name"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns true if dueDate is null, or an object with either a "due-epoch" long
+    //     or all of the local date and time fields as ints
+    private static boolean isValidDueDate(Object dueDate) {
+        if (dueDate == JSONObject.NULL) {
+            return true;
+        }
+        if (!(dueDate instanceof JSONObject)) {
+            return false;
+        }
+        JSONObject dueDateJson = (JSONObject) dueDate;
+        if (dueDateJson.has(EPOCH_KEY)) {
+            return isLong(dueDateJson.opt(EPOCH_KEY));
+        }
+        for (String field : DUE_DATE_FIELDS) {
+            if (!isInt(dueDateJson.opt(field))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns true if priority is an object with boolean "important" and "urgent" fields
+    private static boolean isValidPriority(Object priority) {
+        if (!(priority instanceof JSONObject)) {
+            return false;
+        }
+        JSONObject priorityJson = (JSONObject) priority;
+        return isBoolean(priorityJson.opt("important")) && isBoolean(priorityJson.opt("urgent"));
+    }
+
+    // EFFECTS: returns true if value is a boolean, or a string that JSONObject.getBoolean accepts as one
+    private static boolean isBoolean(Object value) {
+        return value instanceof Boolean
+                || value instanceof String && ("true".equalsIgnoreCase((String) value)
+                || "false".equalsIgnoreCase((String) value));
+    }
+
+    // EFFECTS: returns true if value is a long (see isLong) greater than zero
+    private static boolean isId(Object value) {
+        if (value instanceof String) {
+            return isLong(value) && Long.parseLong((String) value) > 0;
+        }
+        return value instanceof Number && ((Number) value).longValue() > 0;
+    }
+
+    // EFFECTS: returns true if value is a number, or a string that JSONObject.getLong accepts as one
+    private static boolean isLong(Object value) {
+        if (value instanceof String) {
+            try {
+                Long.parseLong((String) value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return value instanceof Number;
+    }
+
+    // EFFECTS: returns true if value is a number, or a string that JSONObject.getInt accepts as one
+    private static boolean isInt(Object value) {
+        if (value instanceof String) {
+            try {
+                Integer.parseInt((String) value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return value instanceof Number;
+    }
+
+    // EFFECTS: returns true if value is a string with at least one character
+    private static boolean isNonEmptyString(Object value) {
+        return value instanceof String && !((String) value).isEmpty();
+    }
+}
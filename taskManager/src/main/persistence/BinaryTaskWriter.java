@@ -0,0 +1,134 @@
+package persistence;
+
+import model.Priority;
+import model.Tag;
+import model.Task;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Encodes tasks in the compact binary task format:
+//     header:     MAGIC, VERSION
+//     dictionary: varint number of tags, then each distinct tag name as a string
+//     tasks:      varint number of tasks, then for every task
+//                 flags byte (bits 0-1 status, bit 2 important, bit 3 urgent, bit 4 has due date), varint id,
+//                 [zig-zag varint due date in minutes since the epoch], progress byte, varint etc hours,
+//                 description string, varint number of tags, varint dictionary index of each tag
+// where a string is a varint byte length followed by its UTF-8 bytes. Version 1 files have no task ids.
+public class BinaryTaskWriter {
+    public static final byte[] MAGIC = {'P', 'T', 'D', 'B'};
+    public static final int VERSION = 2;
+
+    public static final int STATUS_MASK = 0x03;
+    public static final int IMPORTANT_FLAG = 0x04;
+    public static final int URGENT_FLAG = 0x08;
+    public static final int DUE_DATE_FLAG = 0x10;
+
+    private DataOutputStream output;
+
+    // EFFECTS: constructs a binary task writer that writes to output through a buffer
+    public BinaryTaskWriter(OutputStream output) {
+        this.output = new DataOutputStream(new BufferedOutputStream(output));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes tasks in the binary task format and flushes the output
+    //  throws IOException if the output cannot be written
+    public void write(List<Task> tasks) throws IOException {
+        Map<String, Integer> dictionary = tagDictionary(tasks);
+
+        output.write(MAGIC);
+        output.writeByte(VERSION);
+        writeVarInt(dictionary.size());
+        for (String tagName : dictionary.keySet()) {
+            writeString(tagName);
+        }
+        writeVarInt(tasks.size());
+        for (Task t : tasks) {
+            writeTask(t, dictionary);
+        }
+        output.flush();
+    }
+
+    // EFFECTS: returns the flags byte that packs the status, priority and presence of a due date of task
+    public static int flags(Task task) {
+        Priority priority = task.getPriority();
+        int flags = task.getStatus().ordinal() & STATUS_MASK;
+
+        if (priority.isImportant()) {
+            flags |= IMPORTANT_FLAG;
+        }
+        if (priority.isUrgent()) {
+            flags |= URGENT_FLAG;
+        }
+        if (task.getDueDate() != null) {
+            flags |= DUE_DATE_FLAG;
+        }
+        return flags;
+    }
+
+    // EFFECTS: returns every distinct tag name of tasks, mapped to its index in the dictionary
+    static Map<String, Integer> tagDictionary(List<Task> tasks) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+
+        for (Task t : tasks) {
+            for (Tag tag : t.getTags()) {
+                if (!dictionary.containsKey(tag.getName())) {
+                    dictionary.put(tag.getName(), dictionary.size());
+                }
+            }
+        }
+        return dictionary;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a single task, referring to its tags by their index in dictionary
+    private void writeTask(Task task, Map<String, Integer> dictionary) throws IOException {
+        int flags = flags(task);
+
+        output.writeByte(flags);
+        writeVarLong(task.getId());
+        if ((flags & DUE_DATE_FLAG) != 0) {
+            long epochMinute = DueDateCodec.toEpochMinute(task.getDueDate());
+            writeVarLong((epochMinute << 1) ^ (epochMinute >> 63));
+        }
+        output.writeByte(task.getProgress());
+        writeVarInt(task.getEstimatedTimeToComplete());
+        writeString(task.getDescription());
+        writeVarInt(task.getTags().size());
+        for (Tag tag : task.getTags()) {
+            writeVarInt(dictionary.get(tag.getName()));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes s as its varint byte length followed by its UTF-8 bytes
+    private void writeString(String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        output.write(bytes);
+    }
+
+    // REQUIRES: value >= 0
+    // MODIFIES: this
+    // EFFECTS: writes value in 7-bit groups, least significant first; the high bit marks that more groups follow
+    private void writeVarInt(int value) throws IOException {
+        writeVarLong(value);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes value in 7-bit groups, least significant first; the high bit marks that more groups follow
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+}
@@ -0,0 +1,72 @@
+package persistence;
+
+import model.DueDate;
+import org.json.JSONObject;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+// Converts due dates to and from minutes since the epoch and their JSON representation, without using Calendar.
+// The JSON representation holds the local minute, hour, day, month (0-based, as in Calendar) and year,
+// plus the exact "due-epoch" minute; the latter is preferred when reading and is absent from older files.
+public class DueDateCodec {
+    public static final String EPOCH_KEY = "due-epoch";
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000;
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    // REQUIRES: dueDate != null
+    // EFFECTS: returns the due date in whole minutes since the epoch
+    public static long toEpochMinute(DueDate dueDate) {
+        return Math.floorDiv(dueDate.getDate().getTime(), MILLIS_PER_MINUTE);
+    }
+
+    // EFFECTS: returns the due date at epochMinute minutes since the epoch
+    public static DueDate fromEpochMinute(long epochMinute) {
+        return new DueDate(new Date(epochMinute * MILLIS_PER_MINUTE));
+    }
+
+    // EFFECTS: returns JSON representation of dueDate, or null if dueDate is null
+    public static JSONObject toJson(DueDate dueDate) {
+        if (dueDate == null) {
+            return null;
+        }
+        long epochMinute = toEpochMinute(dueDate);
+        LocalDateTime local = toLocal(epochMinute);
+        JSONObject dueDateJson = new JSONObject();
+
+        dueDateJson.put("minute", local.getMinute());
+        dueDateJson.put("hour", local.getHour());
+        dueDateJson.put("day", local.getDayOfMonth());
+        dueDateJson.put("month", local.getMonthValue() - 1);
+        dueDateJson.put("year", local.getYear());
+        dueDateJson.put(EPOCH_KEY, epochMinute);
+
+        return dueDateJson;
+    }
+
+    // EFFECTS: returns the due date represented by dueDateJson; out-of-range fields roll over as they do in Calendar
+    //  throws JSONException if dueDateJson has neither a "due-epoch" nor all of the local date and time fields
+    public static DueDate fromJson(JSONObject dueDateJson) {
+        if (dueDateJson.has(EPOCH_KEY)) {
+            return fromEpochMinute(dueDateJson.getLong(EPOCH_KEY));
+        }
+        LocalDateTime local = LocalDateTime.of(dueDateJson.getInt("year"), 1, 1, 0, 0)
+                .plusMonths(dueDateJson.getInt("month"))
+                .plusDays(dueDateJson.getInt("day") - 1)
+                .plusHours(dueDateJson.getInt("hour"))
+                .plusMinutes(dueDateJson.getInt("minute"));
+        ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(local);
+        return fromEpochMinute(Math.floorDiv(local.toEpochSecond(offset), SECONDS_PER_MINUTE));
+    }
+
+    // EFFECTS: returns the local date and time in the default time zone at epochMinute minutes since the epoch
+    private static LocalDateTime toLocal(long epochMinute) {
+        long epochSecond = epochMinute * SECONDS_PER_MINUTE;
+        ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, offset);
+    }
+}
@@ -0,0 +1,70 @@
+package persistence;
+
+import model.Task;
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Writes tasks as a JSON array straight to an output, one task at a time;
+// only the JSON representation of the task being written is held in memory
+public class JsonTaskWriter {
+    public static final int INDENT_FACTOR = 4;
+
+    private Writer writer;
+    private boolean compact;
+
+    // EFFECTS: constructs a task writer that writes to writer;
+    //     if compact, the JSON is written without indentation or line breaks
+    public JsonTaskWriter(Writer writer, boolean compact) {
+        this.writer = writer;
+        this.compact = compact;
+    }
+
+    // EFFECTS: constructs a task writer that writes UTF-8 encoded JSON to channel through a buffer;
+    //     if compact, the JSON is written without indentation or line breaks
+    public JsonTaskWriter(WritableByteChannel channel, boolean compact) {
+        this(new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), -1)), compact);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes tasks as a JSON array in the same layout as Jsonifier.taskListToJson and flushes the output
+    //  throws IOException if the output cannot be written
+    public void write(Iterable<Task> tasks) throws IOException {
+        boolean empty = true;
+
+        writer.write('[');
+        for (Task t : tasks) {
+            if (!empty) {
+                writer.write(',');
+            }
+            writeTask(t);
+            empty = false;
+        }
+        if (!compact && !empty) {
+            writer.write('\n');
+        }
+        writer.write(']');
+        writer.flush();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes a single task as an element of the JSON array
+    private void writeTask(Task task) throws IOException {
+        JSONObject taskJson = Jsonifier.taskToJson(task);
+
+        if (compact) {
+            taskJson.write(writer);
+        } else {
+            writer.write('\n');
+            for (int i = 0; i < INDENT_FACTOR; i++) {
+                writer.write(' ');
+            }
+            taskJson.write(writer, INDENT_FACTOR, INDENT_FACTOR);
+        }
+    }
+}
@@ -5,8 +5,6 @@ import model.*;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.Calendar;
-import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
@@ -33,23 +31,7 @@ public class Jsonifier {
 
     // EFFECTS: returns JSON respresentation of dueDate
     public static JSONObject dueDateToJson(DueDate dueDate) {
-        JSONObject dueDateJson = new JSONObject();
-
-        if (dueDate == null) {
-            return null;
-        }
-
-        Calendar cal = Calendar.getInstance();
-        Date d = dueDate.getDate();
-        cal.setTime(d);
-
-        dueDateJson.put("minute", cal.get(Calendar.MINUTE));
-        dueDateJson.put("hour", cal.get(Calendar.HOUR_OF_DAY));
-        dueDateJson.put("day", cal.get(Calendar.DAY_OF_MONTH));
-        dueDateJson.put("month", cal.get(Calendar.MONTH));
-        dueDateJson.put("year", cal.get(Calendar.YEAR));
-
-        return dueDateJson;
+        return DueDateCodec.toJson(dueDate);
     }
 
     // EFFECTS: returns JSON representation of task
@@ -57,6 +39,7 @@ public class Jsonifier {
         JSONObject taskJson = new JSONObject();
         JSONArray jsonArray = new JSONArray();
 
+        taskJson.put("id", task.getId());
         taskJson.put("description", task.getDescription());
 
         Set<Tag> listofTags;
@@ -67,14 +50,15 @@ public class Jsonifier {
         }
         taskJson.put("tags", jsonArray);
 
-        if (dueDateToJson(task.getDueDate()) == null) {
+        JSONObject dueDateJson = dueDateToJson(task.getDueDate());
+        if (dueDateJson == null) {
             taskJson.put("due-date", JSONObject.NULL);
         } else {
-            taskJson.put("due-date", dueDateToJson(task.getDueDate()));
+            taskJson.put("due-date", dueDateJson);
         }
 
         taskJson.put("priority", priorityToJson(task.getPriority()));
-        taskJson.put("status", Jsonifier.underscoreStatus(task.getStatus()));
+        taskJson.put("status", statusToJson(task.getStatus()));
 
         return taskJson;
     }
@@ -90,7 +74,8 @@ public class Jsonifier {
         return jsonArray;
     }
 
-    private static String underscoreStatus(Status s) {
+    // EFFECTS: returns JSON representation of status
+    public static String statusToJson(Status s) {
         if (s.equals(Status.IN_PROGRESS) || s.equals(Status.UP_NEXT)) {
             return s.toString().replace(" ", "_");
         }
@@ -0,0 +1,93 @@
+package persistence;
+
+import model.Task;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// A modifiable list of tasks whose elements are initially the rows of a mapped task store.
+// Rows are only materialized when they are accessed; tasks added or set later are kept in memory.
+// Note: a caller that reads every element (e.g. to build a TaskStore) materializes every row.
+class MappedTaskList extends AbstractList<Task> implements RandomAccess {
+    private MappedTaskStore store;
+    private List<Task> added;
+    private int[] slots;  // row of the store (>= 0), or -(index in added + 1); null while the list is unmodified
+    private int size;
+
+    // EFFECTS: constructs a list of the tasks of store, in the order they are stored
+    MappedTaskList(MappedTaskStore store) {
+        this.store = store;
+        added = new ArrayList<>();
+        size = store.size();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size);
+        int slot = slots == null ? index : slots[index];
+        return slot >= 0 ? store.get(slot) : added.get(-slot - 1);
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        ensureSlots(size);
+        slots[index] = addedSlot(task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        ensureSlots(size + 1);
+        System.arraycopy(slots, index, slots, index + 1, size - index);
+        slots[index] = addedSlot(task);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        ensureSlots(size);
+        System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps task in memory and returns the slot that refers to it
+    private int addedSlot(Task task) {
+        added.add(task);
+        return -added.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes sure slots exists and can hold capacity elements
+    private void ensureSlots(int capacity) {
+        if (slots == null) {
+            slots = new int[Math.max(capacity, size + size / 2)];
+            for (int i = 0; i < size; i++) {
+                slots[i] = i;
+            }
+        } else if (slots.length < capacity) {
+            slots = Arrays.copyOf(slots, Math.max(capacity, slots.length + slots.length / 2));
+        }
+    }
+
+    // EFFECTS: throws IndexOutOfBoundsException unless 0 <= index < bound
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+    }
+}
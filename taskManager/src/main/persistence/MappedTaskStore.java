@@ -0,0 +1,288 @@
+package persistence;
+
+import model.DueDate;
+import model.Tag;
+import model.TagRegistry;
+import model.Task;
+import parsers.BinaryTaskParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static persistence.BinaryTaskWriter.DUE_DATE_FLAG;
+
+// Task storage backed by a memory-mapped file of fixed-width task records. Opening a store only maps the file;
+// a task is materialized the first time it is requested (a caller that indexes every task, like TaskStore,
+// therefore materializes all of them, and only saves the time of parsing them). The file is laid out as:
+//     header:  MAGIC, VERSION, number of tasks, number of tag names, offset of tag ids, offset of heap
+//     records: RECORD_SIZE bytes per task: flags byte (see BinaryTaskWriter.flags), progress byte,
+//              number of tags (short), etc hours (int), due date in minutes since the epoch (long),
+//              index of the first tag id of the task (int), description length (int), description offset (long),
+//              id (long); version 1 records end before the id, so their tasks are given new ids
+//     tag ids: the dictionary index of every tag of every task (int each)
+//     heap:    the tag dictionary (int length and UTF-8 bytes for every name), then the UTF-8 descriptions
+// Each region is mapped separately, so none of them can exceed 2 GB.
+public class MappedTaskStore {
+    public static final byte[] MAGIC = {'P', 'T', 'D', 'M'};
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 32;
+    public static final int RECORD_SIZE = 40;
+    private static final int VERSION_1_RECORD_SIZE = 32;
+
+    private ByteBuffer records;
+    private ByteBuffer tagIds;
+    private ByteBuffer heap;
+    private int size;
+    private int recordSize;
+    private Tag[] tags;
+    private Task[] materialized;
+
+    // EFFECTS: constructs a store over the given mapped regions
+    private MappedTaskStore(ByteBuffer records, ByteBuffer tagIds, ByteBuffer heap, int size, int recordSize,
+                            int numTagNames) {
+        this.records = records;
+        this.tagIds = tagIds;
+        this.heap = heap;
+        this.size = size;
+        this.recordSize = recordSize;
+        tags = new Tag[numTagNames];
+        int position = 0;
+        for (int i = 0; i < numTagNames; i++) {
+            int length = heap.getInt(position);
+            tags[i] = TagRegistry.intern(readString(position + 4, length));
+            position += 4 + length;
+        }
+    }
+
+    // EFFECTS: returns true if header starts with the magic bytes of a mapped task store
+    public static boolean isMappedFormat(byte[] header) {
+        return header.length >= MAGIC.length && Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC);
+    }
+
+    // EFFECTS: maps file into memory and returns a store over its tasks; no task is read until it is requested
+    //  throws IOException if file cannot be mapped or is not a mapped task store
+    public static MappedTaskStore open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(READ_ONLY, 0, HEADER_SIZE);
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            int version = header.getInt();
+            if (!isMappedFormat(magic) || version < 1 || version > VERSION) {
+                throw new IOException("Not a mapped task store of version 1 to " + VERSION);
+            }
+            int recordSize = version == 1 ? VERSION_1_RECORD_SIZE : RECORD_SIZE;
+            int size = header.getInt();
+            int numTagNames = header.getInt();
+            long tagIdsOffset = header.getLong();
+            long heapOffset = header.getLong();
+            return new MappedTaskStore(
+                    channel.map(READ_ONLY, HEADER_SIZE, (long) size * recordSize),
+                    channel.map(READ_ONLY, tagIdsOffset, heapOffset - tagIdsOffset),
+                    channel.map(READ_ONLY, heapOffset, channel.size() - heapOffset),
+                    size, recordSize, numTagNames);
+        }
+    }
+
+    // REQUIRES: file is not mapped by an open store (write to another file and move it into place instead)
+    // EFFECTS: saves tasks to file as a mapped task store
+    //  throws IOException if file cannot be written
+    public static void write(File file, List<Task> tasks) throws IOException {
+        new MappedTaskWriter(file).write(tasks, BinaryTaskWriter.tagDictionary(tasks));
+    }
+
+    // EFFECTS: returns the number of tasks in this store
+    public int size() {
+        return size;
+    }
+
+    // REQUIRES: 0 <= row < size()
+    // MODIFIES: this
+    // EFFECTS: returns the task stored in row, materializing it the first time it is requested
+    public Task get(int row) {
+        if (materialized == null) {
+            materialized = new Task[size];
+        }
+        if (materialized[row] == null) {
+            materialized[row] = materialize(row);
+        }
+        return materialized[row];
+    }
+
+    // EFFECTS: returns a modifiable list whose elements are materialized from this store when they are accessed
+    public List<Task> asList() {
+        return new MappedTaskList(this);
+    }
+
+    // EFFECTS: returns a new task built from the record in row
+    private Task materialize(int row) {
+        int record = row * recordSize;
+        int flags = records.get(record);
+        DueDate dueDate = null;
+        if ((flags & DUE_DATE_FLAG) != 0) {
+            dueDate = DueDateCodec.fromEpochMinute(records.getLong(record + 8));
+        }
+        String description = readString(records.getLong(record + 24), records.getInt(record + 20));
+        Task task = recordSize > VERSION_1_RECORD_SIZE ? Task.restore(records.getLong(record + 32), description)
+                : Task.restore(description);
+        int firstTagId = records.getInt(record + 16);
+        int numTags = records.getShort(record + 2) & 0xFFFF;
+        for (int i = 0; i < numTags; i++) {
+            task.addTag(tags[tagIds.getInt((firstTagId + i) * 4)]);
+        }
+        BinaryTaskParser.setFields(task, flags, dueDate, records.get(record + 1), records.getInt(record + 4));
+        return task;
+    }
+
+    // EFFECTS: returns the string of length bytes stored at offset in the heap
+    private String readString(long offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer slice = heap.duplicate();
+        slice.position((int) offset);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Writes the regions of a mapped task store through one buffer per region
+    private static class MappedTaskWriter {
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private File file;
+        private FileChannel channel;
+
+        MappedTaskWriter(File file) {
+            this.file = file;
+        }
+
+        // EFFECTS: writes the header, records, tag ids and heap of tasks to file
+        void write(List<Task> tasks, Map<String, Integer> dictionary) throws IOException {
+            long tagIdsOffset = HEADER_SIZE + (long) tasks.size() * RECORD_SIZE;
+            long heapOffset = tagIdsOffset + 4L * countTags(tasks);
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                this.channel = channel;
+                Region header = new Region(0);
+                header.put(MAGIC).putInt(VERSION).putInt(tasks.size()).putInt(dictionary.size());
+                header.putLong(tagIdsOffset).putLong(heapOffset).flush();
+                Region heap = new Region(heapOffset);
+                for (String tagName : dictionary.keySet()) {
+                    byte[] bytes = tagName.getBytes(StandardCharsets.UTF_8);
+                    heap.putInt(bytes.length).put(bytes);
+                }
+                writeTasks(tasks, dictionary, new Region(HEADER_SIZE), new Region(tagIdsOffset), heap);
+            }
+        }
+
+        // EFFECTS: writes the record, tag ids and description of every task
+        private void writeTasks(List<Task> tasks, Map<String, Integer> dictionary,
+                                Region records, Region tagIds, Region heap) throws IOException {
+            int numTagIds = 0;
+            for (Task t : tasks) {
+                byte[] description = t.getDescription().getBytes(StandardCharsets.UTF_8);
+                int flags = BinaryTaskWriter.flags(t);
+                records.putByte(flags).putByte(t.getProgress()).putShort(t.getTags().size());
+                records.putInt(t.getEstimatedTimeToComplete()).putLong(epochMinute(t, flags));
+                records.putInt(numTagIds).putInt(description.length).putLong(heap.offset()).putLong(t.getId());
+                for (Tag tag : t.getTags()) {
+                    tagIds.putInt(dictionary.get(tag.getName()));
+                    numTagIds++;
+                }
+                heap.put(description);
+            }
+            records.flush();
+            tagIds.flush();
+            heap.flush();
+        }
+
+        // EFFECTS: returns the due date of task in minutes since the epoch, or 0 if it has none
+        private static long epochMinute(Task task, int flags) {
+            if ((flags & DUE_DATE_FLAG) == 0) {
+                return 0;
+            }
+            return DueDateCodec.toEpochMinute(task.getDueDate());
+        }
+
+        // EFFECTS: returns the total number of tags of tasks
+        private static long countTags(List<Task> tasks) {
+            long count = 0;
+            for (Task t : tasks) {
+                count += t.getTags().size();
+            }
+            return count;
+        }
+
+        // A buffered sequential writer for one region of the file
+        private class Region {
+            private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            private long start;
+            private long written;
+
+            Region(long start) {
+                this.start = start;
+            }
+
+            // EFFECTS: returns the number of bytes put in this region so far, relative to its start
+            long offset() {
+                return written + buffer.position();
+            }
+
+            Region put(byte[] bytes) throws IOException {
+                int from = 0;
+                while (from < bytes.length) {
+                    ensureRemaining(1);
+                    int length = Math.min(buffer.remaining(), bytes.length - from);
+                    buffer.put(bytes, from, length);
+                    from += length;
+                }
+                return this;
+            }
+
+            Region putByte(int value) throws IOException {
+                ensureRemaining(1);
+                buffer.put((byte) value);
+                return this;
+            }
+
+            Region putShort(int value) throws IOException {
+                ensureRemaining(2);
+                buffer.putShort((short) value);
+                return this;
+            }
+
+            Region putInt(int value) throws IOException {
+                ensureRemaining(4);
+                buffer.putInt(value);
+                return this;
+            }
+
+            Region putLong(long value) throws IOException {
+                ensureRemaining(8);
+                buffer.putLong(value);
+                return this;
+            }
+
+            // EFFECTS: writes the buffered bytes to the file if fewer than n bytes are left in the buffer
+            private void ensureRemaining(int n) throws IOException {
+                if (buffer.remaining() < n) {
+                    flush();
+                }
+            }
+
+            // EFFECTS: writes the buffered bytes to the file at the current position of this region
+            void flush() throws IOException {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, start + written);
+                }
+                buffer.clear();
+            }
+        }
+    }
+}
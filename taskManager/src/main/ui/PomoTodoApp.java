@@ -4,24 +4,28 @@ import javafx.application.Application;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
-import model.Task;
+import model.TaskStore;
 import utility.JsonFileIO;
-
-import java.util.ArrayList;
-import java.util.List;
+import utility.Logger;
+import utility.PersistenceService;
 
 // The PomoTODO GUI Application
 public class PomoTodoApp extends Application {
     public static final String TITLE = "PomoTODO";
     public static final double WIDTH = 520;
     public static final double HEIGHT = 800;
-    private static List<Task> tasks = new ArrayList<>();
+    private static TaskStore tasks = new TaskStore();
     private static Stage primaryStage;
     private static JsonFileIO jsonFileIO = new JsonFileIO();
+    private static PersistenceService persistenceService = new PersistenceService();
     
     public static void main(String[] args) {
-        tasks = jsonFileIO.read();
+        tasks = new TaskStore(jsonFileIO.read()); // indexes, and so reads, every task of the file, whatever its format
+        jsonFileIO.setWriter(persistenceService); // keeps file writes off the JavaFX application thread
         launch(args);
+        if (!persistenceService.shutdown()) {
+            Logger.log("PomoTodoApp", "Some changes could not be written; saving every task to the file again");
+        }
         jsonFileIO.write(tasks);
     }
     
@@ -37,8 +41,8 @@ public class PomoTodoApp extends Application {
         primaryStage = stage;
     }
     
-    // EFFECTS: returns the list of tasks in this PomoTODO APP
-    public static List<Task> getTasks() {
+    // EFFECTS: returns the list of tasks in this PomoTODO APP, indexed by status, priority and due date
+    public static TaskStore getTasks() {
         return tasks;
     }
     
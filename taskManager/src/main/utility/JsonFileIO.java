@@ -1,57 +1,263 @@
 package utility;
 
 import model.Task;
-import org.json.JSONArray;
+import model.TaskStore;
+import org.json.JSONObject;
+import parsers.BinaryTaskParser;
 import parsers.TaskParser;
-import persistence.Jsonifier;
+import persistence.BinaryTaskWriter;
+import persistence.JsonTaskWriter;
+import persistence.MappedTaskStore;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.Executor;
 
 // File input/output operations
 public class JsonFileIO {
     public static final File jsonDataFile = new File("./resources/json/tasks.json");
+    public static final File journalFile = new File("./resources/json/tasks.journal");
+    public static final int COMPACTION_THRESHOLD = 500;
+
+    private static File dataFile = jsonDataFile;
+    private static TaskJournal journal = new TaskJournal(journalFile, jsonDataFile);
+    private static Executor writer = Runnable::run;
+    private static int numJournalEntries = 0;
+    private static StorageFormat format = StorageFormat.JSON;
+    private static boolean readFailed = false;
+
+    // MODIFIES: this
+    // EFFECTS: sets the executor that performs the journal and snapshot writes requested by
+    //          addTask, updateTask, updateStatus, removeTask and save; by default they are performed immediately
+    public static void setWriter(Executor executor) {
+        writer = executor;
+    }
     
-    // EFFECTS: attempts to read jsonDataFile and parse it
-    //          returns a list of tasks from the content of jsonDataFile
-    public static List<Task> read() {
+    // MODIFIES: this
+    // EFFECTS: reads and saves the tasks in tasksFile, and records their changes in changesFile, instead of
+    //          jsonDataFile and journalFile; used by tests
+    static synchronized void useFiles(File tasksFile, File changesFile) {
+        dataFile = tasksFile;
+        journal = new TaskJournal(changesFile, tasksFile);
+    }
 
-        TaskParser taskParser = new TaskParser();
+    // MODIFIES: this
+    // EFFECTS: sets the format in which write saves jsonDataFile; read sets it to the format of the file it has read
+    public static void setFormat(StorageFormat storageFormat) {
+        format = storageFormat;
+    }
+
+    // EFFECTS: attempts to read jsonDataFile and parse it, then replays the changes recorded in journalFile
+    //          returns a list of tasks from the content of jsonDataFile and journalFile; if jsonDataFile does not
+    //          exist, the changes are replayed against no tasks. If jsonDataFile cannot be read (e.g., it is
+    //          empty, truncated or corrupt), returns no tasks and refuses to save over jsonDataFile until it has
+    //          been read successfully, so that the tasks it holds are not lost (see hasReadFailed)
+    public static synchronized List<Task> read() {
         List<Task> taskArray;
+        readFailed = false;
 
         try {
-            Scanner fileString = new Scanner(jsonDataFile);
-            String taskString = fileString.useDelimiter("\\Z").next(); // converted jsonDataFile to string using Scanner
-            // https://stackoverflow.com/questions/3402735/what-is-simplest-way-to-read-a-file-into-string
-            taskArray = taskParser.parse(taskString);
-        } catch (IOException e) {
+            taskArray = readSnapshot();
+            journal.replay(taskArray);
+            numJournalEntries = journal.getNumEntries();
+        } catch (IOException | RuntimeException e) { // the parsers throw runtime exceptions on malformed input
             taskArray = new ArrayList<>();
-            System.out.println("Exception thrown!");
+            readFailed = !(e instanceof FileNotFoundException) || dataFile.exists(); // exists but unreadable
+            if (readFailed) {
+                System.out.println("Cannot read " + dataFile + ", which will not be saved over: " + e);
+            }
         }
 
         return taskArray;
     }
+
+    // EFFECTS: returns true if the last read found jsonDataFile but could not read it; jsonDataFile is then
+    //          left as it is by save and write
+    public static synchronized boolean hasReadFailed() {
+        return readFailed;
+    }
+
+    // EFFECTS: returns the tasks in jsonDataFile and sets the format to its format, or returns no tasks if
+    //          jsonDataFile does not exist (e.g., the journal has recorded tasks that were never saved)
+    private static List<Task> readSnapshot() throws IOException {
+        if (!dataFile.exists()) {
+            return new ArrayList<>();
+        }
+        format = readFormat();
+        return readTasks();
+    }
+
+    // EFFECTS: returns the format of jsonDataFile, as identified by its header
+    private static StorageFormat readFormat() throws IOException {
+        byte[] header = new byte[BinaryTaskWriter.MAGIC.length];
+        try (InputStream fileStream = new FileInputStream(dataFile)) {
+            fileStream.read(header);
+        }
+
+        if (BinaryTaskParser.isBinaryFormat(header)) {
+            return StorageFormat.BINARY;
+        } else if (MappedTaskStore.isMappedFormat(header)) {
+            return StorageFormat.MAPPED;
+        }
+        return StorageFormat.JSON;
+    }
+
+    // EFFECTS: returns the tasks in jsonDataFile, parsed according to its format
+    // Note: the tasks of a MAPPED file are only decoded from their records when they are accessed, but a TaskStore
+    //     built from the list (as in PomoTodoApp) accesses every one of them to index it; the MAPPED format then
+    //     saves parsing time rather than the work of reading every task
+    private static List<Task> readTasks() throws IOException {
+        if (format == StorageFormat.MAPPED) {
+            return MappedTaskStore.open(dataFile).asList();
+        }
+        try (InputStream fileStream = new BufferedInputStream(new FileInputStream(dataFile))) {
+            if (format == StorageFormat.BINARY) {
+                return new BinaryTaskParser().parse(fileStream);
+            }
+            List<Task> taskArray = new ArrayList<>();
+            Iterator<Task> tasks = new TaskParser().parse(new InputStreamReader(fileStream)); // parsed while read
+            while (tasks.hasNext()) {
+                taskArray.add(tasks.next());
+            }
+            return taskArray;
+        }
+    }
     
-    // EFFECTS: saves the tasks to jsonDataFile
-    public static void write(List<Task> tasks) {
-        Jsonifier jsonifier = new Jsonifier();
-        TaskParser jsonArrayTask = new TaskParser();
+    // MODIFIES: tasks
+    // EFFECTS: adds task to the end of tasks and records the change in journalFile
+    public static void addTask(List<Task> tasks, Task task) {
+        tasks.add(task);
+        record(TaskJournal.addEntry(task), tasks);
+    }
+
+    // REQUIRES: task is in tasks
+    // EFFECTS: records in journalFile that task has been edited
+    public static void updateTask(List<Task> tasks, Task task) {
+        record(TaskJournal.updateEntry(task), tasks);
+    }
 
-        JSONArray taskArray = jsonifier.taskListToJson(tasks);
-        String taskString = taskArray.toString(4);
+    // REQUIRES: task is in tasks
+    // EFFECTS: records in journalFile that the status of task has been changed
+    public static void updateStatus(List<Task> tasks, Task task) {
+        record(TaskJournal.statusEntry(task.getId(), task.getStatus()), tasks);
+    }
 
+    // MODIFIES: tasks
+    // EFFECTS: removes the task with the id of task from tasks and records the change in journalFile;
+    //          does nothing if tasks has no such task
+    public static void removeTask(List<Task> tasks, Task task) {
+        Task stored = getById(tasks, task.getId());
+        if (stored != null) {
+            tasks.remove(indexOf(tasks, stored));
+            record(TaskJournal.removeEntry(stored.getId()), tasks);
+        }
+    }
+
+    // EFFECTS: saves a copy of tasks to jsonDataFile through the writer; every task is copied on the calling thread,
+    //          so that the writer serializes the tasks as they are now while the caller goes on editing them
+    public static void save(List<Task> tasks) {
+        List<Task> snapshot = new ArrayList<>(tasks.size());
+        for (Task t : tasks) {
+            snapshot.add(t.copy());
+        }
+        numJournalEntries = 0;
+        writer.execute(() -> write(snapshot));
+    }
+
+    // EFFECTS: saves the tasks to jsonDataFile and clears journalFile, whose changes are now part of jsonDataFile;
+    //          does nothing if the last read could not read jsonDataFile
+    public static synchronized void write(List<Task> tasks) {
+        if (readFailed) {
+            System.out.println("Not saving over " + dataFile + ", which could not be read");
+            return;
+        }
         try {
-            BufferedWriter openFile = new BufferedWriter(new FileWriter(jsonDataFile));
-            openFile.write(taskString);
-            openFile.close();
+            writeTasks(tasks);
         } catch (IOException e) {
             System.out.println("IOException thrown!");
+            return;
         }
+        journal.clear();
+    }
 
+    // EFFECTS: writes tasks to a temporary file in the current format, then moves it over jsonDataFile;
+    //          a store mapped from the previous jsonDataFile therefore stays readable
+    private static void writeTasks(List<Task> tasks) throws IOException {
+        File tempFile = new File(dataFile.getPath() + ".tmp");
+
+        if (format == StorageFormat.MAPPED) {
+            MappedTaskStore.write(tempFile, tasks);
+        } else if (format == StorageFormat.BINARY) {
+            try (OutputStream fileStream = new FileOutputStream(tempFile)) {
+                new BinaryTaskWriter(fileStream).write(tasks);
+            }
+        } else {
+            try (Writer fileWriter = new BufferedWriter(new FileWriter(tempFile))) {
+                new JsonTaskWriter(fileWriter, false).write(tasks); // tasks are written one at a time
+            }
+        }
+        Files.move(tempFile.toPath(), dataFile.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // EFFECTS: has the writer append entry to journalFile; once COMPACTION_THRESHOLD entries have been recorded,
+    //          the writer rewrites jsonDataFile from tasks instead
+    private static void record(JSONObject entry, List<Task> tasks) {
+        numJournalEntries++;
+        if (numJournalEntries >= COMPACTION_THRESHOLD) {
+            save(tasks);
+        } else {
+            writer.execute(() -> append(entry));
+        }
+    }
+
+    // EFFECTS: appends entry to journalFile
+    private static synchronized void append(JSONObject entry) {
+        try {
+            journal.append(entry);
+        } catch (IOException e) {
+            System.out.println("IOException thrown!");
+        }
+    }
+
+    // EFFECTS: returns the task in tasks whose id is id, or null if there is none; looked up in the id index of
+    //          tasks if it is a TaskStore
+    private static Task getById(List<Task> tasks, long id) {
+        if (tasks instanceof TaskStore) {
+            return ((TaskStore) tasks).getById(id);
+        }
+        for (Task t : tasks) {
+            if (t.getId() == id) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: returns the position of task in tasks (compared by identity), or -1 if it is not there
+    private static int indexOf(List<Task> tasks, Task task) {
+        int index = 0;
+        for (Task t : tasks) {
+            if (t == task) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
     }
 }
@@ -8,8 +8,8 @@ public class Logger {
     private static Map<String, String> log = new HashMap<>();
     
     // MODIFIES: this
-    // EFFECTS: prints the key + message to console
-    public static void log(String key, String message) {
+    // EFFECTS: prints the key + message to console; may be called from any thread
+    public static synchronized void log(String key, String message) {
         log.put(key, message);
         System.out.println(key + " : " + message);
     }
@@ -0,0 +1,136 @@
+package utility;
+
+import java.util.Arrays;
+
+// A hash map from long keys to non-null values that stores its keys unboxed. Keys are kept in open-addressed
+// arrays with linear probing; a slot is empty while its value is null.
+public class LongMap<V> {
+    private static final int MIN_CAPACITY = 16;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int shift;
+
+    // EFFECTS: constructs an empty map
+    public LongMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    // EFFECTS: constructs an empty map that holds expectedSize entries without growing
+    public LongMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    // EFFECTS: returns the number of entries in this map
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns true if this map has no entries
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // EFFECTS: returns true if this map has an entry for key
+    public boolean containsKey(long key) {
+        return values[find(key)] != null;
+    }
+
+    // EFFECTS: returns the value of key, or null if this map has no entry for key
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[find(key)];
+    }
+
+    // REQUIRES: value != null
+    // MODIFIES: this
+    // EFFECTS: sets the value of key to value; returns the previous value of key, or null if there was none
+    public V put(long key, V value) {
+        int slot = find(key);
+        V previous = get(key);
+        if (previous == null) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+                slot = find(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        return previous;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the entry of key; returns its value, or null if this map had no entry for key
+    public V remove(long key) {
+        int slot = find(key);
+        V previous = get(key);
+        if (previous != null) {
+            closeGap(slot);
+            size--;
+        }
+        return previous;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every entry from this map
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // EFFECTS: returns the slot of key, or the empty slot where key would be put
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * GOLDEN_RATIO) >>> shift);
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: empties slot, moving back the entries after it that would otherwise no longer be found
+    private void closeGap(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = (int) ((keys[next] * GOLDEN_RATIO) >>> shift);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: doubles the number of slots and puts every entry back
+    private void grow() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the slots by capacity empty slots, where capacity is a power of two
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+}
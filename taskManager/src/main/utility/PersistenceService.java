@@ -0,0 +1,139 @@
+package utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Performs writes on a dedicated writer thread, behind the thread that requests them.
+// Writes requested in a burst are held back until no write has been requested for the quiet period,
+// then performed together in the order they were requested. So that continuous edits cannot postpone them forever,
+// pending writes are performed anyway once the first of them has waited for the maximum delay.
+public class PersistenceService implements Executor {
+    public static final long DEFAULT_QUIET_PERIOD = 500;  // milliseconds
+    public static final int MAX_DELAY_FACTOR = 10;        // default maximum delay, in quiet periods
+    private static final String LOG_KEY = "PersistenceService";
+
+    private ScheduledExecutorService writerThread;
+    private long quietPeriod;
+    private long maxDelay;
+    private List<Runnable> pendingWrites;
+    private long firstPendingTime;  // System.nanoTime() when the oldest pending write was requested
+    private ScheduledFuture<?> scheduledFlush;
+
+    // EFFECTS: constructs a persistence service that waits DEFAULT_QUIET_PERIOD before writing
+    public PersistenceService() {
+        this(DEFAULT_QUIET_PERIOD);
+    }
+
+    // EFFECTS: constructs a persistence service that waits quietPeriod milliseconds before writing, and holds
+    //     writes back for at most MAX_DELAY_FACTOR quiet periods
+    public PersistenceService(long quietPeriod) {
+        this(quietPeriod, MAX_DELAY_FACTOR * quietPeriod);
+    }
+
+    // REQUIRES: maxDelay >= quietPeriod
+    // EFFECTS: constructs a persistence service that waits quietPeriod milliseconds before writing, and holds
+    //     writes back for at most maxDelay milliseconds
+    public PersistenceService(long quietPeriod, long maxDelay) {
+        this.quietPeriod = quietPeriod;
+        this.maxDelay = maxDelay;
+        pendingWrites = new ArrayList<>();
+        writerThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "PomoTODO writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // EFFECTS: returns the number of milliseconds without new writes after which pending writes are performed
+    public long getQuietPeriod() {
+        return quietPeriod;
+    }
+
+    // EFFECTS: returns the number of milliseconds after which a pending write is performed even if writes are
+    //     still being requested
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues write to be performed on the writer thread once the quiet period has passed
+    //     without another write being requested, or once the oldest pending write has waited for the maximum delay
+    @Override
+    public synchronized void execute(Runnable write) {
+        long now = System.nanoTime();
+        if (pendingWrites.isEmpty()) {
+            firstPendingTime = now;
+        }
+        pendingWrites.add(write);
+        cancelScheduledFlush();
+        long untilMaxDelay = TimeUnit.MILLISECONDS.toNanos(maxDelay) - (now - firstPendingTime);
+        long delay = Math.max(0, Math.min(TimeUnit.MILLISECONDS.toNanos(quietPeriod), untilMaxDelay));
+        scheduledFlush = writerThread.schedule(this::performPendingWrites, delay, TimeUnit.NANOSECONDS);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: performs every pending write now and waits until they are done; returns true if they all succeeded,
+    //     and false (after logging why) if a write failed or the wait was interrupted
+    public boolean flush() {
+        Future<Integer> done;
+        synchronized (this) {
+            cancelScheduledFlush();
+            done = writerThread.submit(this::performPendingWrites);
+        }
+        try {
+            return done.get() == 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Logger.log(LOG_KEY, "Flush interrupted; pending writes may not have been performed");
+        } catch (ExecutionException e) {
+            Logger.log(LOG_KEY, "Flush failed: " + e.getCause());
+        }
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: performs every pending write and stops the writer thread; no write can be requested afterwards.
+    //     Returns true if the pending writes all succeeded, and false otherwise (see flush)
+    public boolean shutdown() {
+        boolean flushed = flush();
+        writerThread.shutdown();
+        return flushed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: cancels the scheduled flush of pending writes, if any
+    private void cancelScheduledFlush() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: performs the pending writes in the order they were requested, and returns the number that failed;
+    //     a write that fails is logged, and does not prevent the following ones from being performed
+    private int performPendingWrites() {
+        List<Runnable> writes;
+        synchronized (this) {
+            writes = pendingWrites;
+            pendingWrites = new ArrayList<>();
+        }
+        int failed = 0;
+        for (Runnable write : writes) {
+            try {
+                write.run();
+            } catch (RuntimeException e) {
+                Logger.log(LOG_KEY, "Write failed: " + e);
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
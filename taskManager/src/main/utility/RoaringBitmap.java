@@ -0,0 +1,455 @@
+package utility;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// A compressed set of non-negative ints, in the style of a roaring bitmap. The ints are partitioned by their high
+// 16 bits into chunks of 65536; each chunk that is not empty is stored in a container of its low 16 bits:
+//     an array container, a sorted array of the low bits, while the chunk has at most ARRAY_LIMIT ints
+//     a bitmap container, 65536 bits, once it has more
+// The set operations and, or and andNot return new bitmaps and leave their arguments unchanged; andCardinality
+// counts an intersection without building it.
+public class RoaringBitmap {
+    static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    // EFFECTS: constructs an empty bitmap
+    public RoaringBitmap() {
+        keys = new char[4];
+        containers = new Container[4];
+    }
+
+    // REQUIRES: value >= 0
+    // MODIFIES: this
+    // EFFECTS: adds value to this bitmap
+    public void add(int value) {
+        int i = find((char) (value >>> 16));
+        if (i < 0) {
+            i = -i - 1;
+            insert(i, (char) (value >>> 16), new ArrayContainer());
+        }
+        containers[i] = containers[i].add((char) value);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes value from this bitmap
+    public void remove(int value) {
+        int i = find((char) (value >>> 16));
+        if (value >= 0 && i >= 0) {
+            containers[i] = containers[i].remove((char) value);
+            if (containers[i].cardinality == 0) {
+                System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+                System.arraycopy(containers, i + 1, containers, i, size - i - 1);
+                containers[--size] = null;
+            }
+        }
+    }
+
+    // EFFECTS: returns true if value is in this bitmap
+    public boolean contains(int value) {
+        int i = find((char) (value >>> 16));
+        return value >= 0 && i >= 0 && containers[i].contains((char) value);
+    }
+
+    // EFFECTS: returns the number of ints in this bitmap
+    public int getCardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    // EFFECTS: returns true if this bitmap is empty
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // EFFECTS: calls action on every int of this bitmap, in increasing order
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    // EFFECTS: returns a new bitmap of the ints that are in both a and b
+    public static RoaringBitmap and(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result.append(a.keys[i], a.containers[i++].and(b.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns a new bitmap of the ints that are in a or in b
+    public static RoaringBitmap or(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j == b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.append(a.keys[i], a.containers[i++].copy());
+            } else if (i == a.size || a.keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j++].copy());
+            } else {
+                result.append(a.keys[i], a.containers[i++].or(b.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns a new bitmap of the ints that are in a but not in b
+    public static RoaringBitmap andNot(RoaringBitmap a, RoaringBitmap b) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            if (j < b.size && b.keys[j] == a.keys[i]) {
+                result.append(a.keys[i], a.containers[i].andNot(b.containers[j]));
+            } else {
+                result.append(a.keys[i], a.containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    // EFFECTS: returns the number of ints that are in both a and b
+    public static int andCardinality(RoaringBitmap a, RoaringBitmap b) {
+        int cardinality = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                cardinality += a.containers[i++].andCardinality(b.containers[j++]);
+            }
+        }
+        return cardinality;
+    }
+
+    // EFFECTS: returns the index of the container of key, or -(insertion point + 1) if there is none
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: inserts container for key at index i
+    private void insert(int i, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        System.arraycopy(containers, i, containers, i + 1, size - i);
+        keys[i] = key;
+        containers[i] = container;
+        size++;
+    }
+
+    // REQUIRES: key is greater than every key of this bitmap
+    // MODIFIES: this
+    // EFFECTS: adds container for key after the last container, unless it is empty
+    private void append(char key, Container container) {
+        if (container.cardinality > 0) {
+            insert(size, key, container);
+        }
+    }
+
+    // The low 16 bits of the ints of one chunk. Operations that do not modify a container return a new one;
+    // add and remove return the container that holds the result, which may be a new one of the other kind.
+    private abstract static class Container {
+        int cardinality;
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract Container copy();
+
+        abstract void forEach(int high, IntConsumer action);
+
+        // EFFECTS: returns the number of values in both this container and other
+        abstract int andCardinality(Container other);
+
+        // EFFECTS: returns a new container of the values in both this container and other
+        abstract Container and(Container other);
+
+        // EFFECTS: returns a new container of the values in this container or other
+        Container or(Container other) {
+            BitmapContainer union = toBitmap();
+            other.forEach(0, value -> union.set((char) value));
+            return union.shrink();
+        }
+
+        // EFFECTS: returns a new container of the values in this container but not in other
+        abstract Container andNot(Container other);
+
+        // EFFECTS: returns a new bitmap container of the values of this container
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            forEach(0, value -> bitmap.set((char) value));
+            return bitmap;
+        }
+    }
+
+    // A sorted array of at most ARRAY_LIMIT values (temporarily more while it is being built)
+    private static class ArrayContainer extends Container {
+        private char[] values = new char[4];
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                BitmapContainer bitmap = toBitmap();
+                bitmap.set(value);
+                return bitmap;
+            }
+            i = -i - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, i, values, i + 1, cardinality - i);
+            values[i] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int i = Arrays.binarySearch(values, 0, cardinality, value);
+            if (i >= 0) {
+                System.arraycopy(values, i + 1, values, i, cardinality - i - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        // REQUIRES: value is greater than every value of this container
+        // MODIFIES: this
+        // EFFECTS: adds value after the last value
+        void append(char value) {
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, cardinality * 2);
+            }
+            values[cardinality++] = value;
+        }
+
+        @Override
+        Container copy() {
+            ArrayContainer copy = new ArrayContainer();
+            copy.values = Arrays.copyOf(values, Math.max(cardinality, 4));
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            int count = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        Container and(Container other) {
+            ArrayContainer intersection = new ArrayContainer();
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    intersection.append(values[i]);
+                }
+            }
+            return intersection;
+        }
+
+        @Override
+        Container andNot(Container other) {
+            ArrayContainer difference = new ArrayContainer();
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    difference.append(values[i]);
+                }
+            }
+            return difference;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof ArrayContainer && cardinality + other.cardinality <= ARRAY_LIMIT) {
+                return merge((ArrayContainer) other);
+            }
+            return other instanceof BitmapContainer ? other.or(this) : super.or(other);
+        }
+
+        // EFFECTS: returns a new array container of the values of this container or other
+        private ArrayContainer merge(ArrayContainer other) {
+            ArrayContainer union = new ArrayContainer();
+            union.values = new char[Math.max(cardinality + other.cardinality, 4)];
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < other.cardinality) {
+                if (j == other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                    union.values[union.cardinality++] = values[i++];
+                } else if (i == cardinality || values[i] > other.values[j]) {
+                    union.values[union.cardinality++] = other.values[j++];
+                } else {
+                    union.values[union.cardinality++] = values[i++];
+                    j++;
+                }
+            }
+            return union;
+        }
+    }
+
+    // A bitmap of the 65536 possible values of a chunk
+    private static class BitmapContainer extends Container {
+        private long[] words = new long[BITMAP_WORDS];
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds value to this container
+        void set(char value) {
+            long before = words[value >>> 6];
+            words[value >>> 6] = before | (1L << value);
+            if (before != words[value >>> 6]) {
+                cardinality++;
+            }
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            if (contains(value)) {
+                words[value >>> 6] &= ~(1L << value);
+                cardinality--;
+            }
+            return shrink();
+        }
+
+        // EFFECTS: returns an array container of the values of this container if there are few enough of them,
+        //     and this container otherwise
+        Container shrink() {
+            if (cardinality > ARRAY_LIMIT) {
+                return this;
+            }
+            ArrayContainer array = new ArrayContainer();
+            forEach(0, value -> array.append((char) value));
+            return array;
+        }
+
+        @Override
+        BitmapContainer toBitmap() {
+            return (BitmapContainer) copy();
+        }
+
+        @Override
+        Container copy() {
+            BitmapContainer copy = new BitmapContainer();
+            copy.words = words.clone();
+            copy.cardinality = cardinality;
+            return copy;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer action) {
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    action.accept(high | (i << 6) | Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        @Override
+        int andCardinality(Container other) {
+            if (!(other instanceof BitmapContainer)) {
+                return other.andCardinality(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                count += Long.bitCount(words[i] & otherWords[i]);
+            }
+            return count;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (!(other instanceof BitmapContainer)) {
+                return other.and(this);
+            }
+            BitmapContainer intersection = new BitmapContainer();
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                intersection.words[i] = words[i] & otherWords[i];
+                intersection.cardinality += Long.bitCount(intersection.words[i]);
+            }
+            return intersection.shrink();
+        }
+
+        @Override
+        Container andNot(Container other) {
+            BitmapContainer difference = (BitmapContainer) copy();
+            if (other instanceof BitmapContainer) {
+                long[] otherWords = ((BitmapContainer) other).words;
+                difference.cardinality = 0;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    difference.words[i] &= ~otherWords[i];
+                    difference.cardinality += Long.bitCount(difference.words[i]);
+                }
+                return difference.shrink();
+            }
+            other.forEach(0, value -> {
+                if (difference.contains((char) value)) {
+                    difference.words[value >>> 6] &= ~(1L << value);
+                    difference.cardinality--;
+                }
+            });
+            return difference.shrink();
+        }
+    }
+}
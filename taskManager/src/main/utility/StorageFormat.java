@@ -0,0 +1,9 @@
+package utility;
+
+// The formats in which the task file can be saved
+public enum StorageFormat {
+    JSON,    // indented JSON, for interchange
+    BINARY,  // compact binary task format, read in full on load
+    MAPPED   // memory-mapped task records, opened without reading them and decoded without parsing; a list of
+             // them is only as lazy as its user (PomoTodoApp's TaskStore decodes every record at startup)
+}
@@ -0,0 +1,221 @@
+package utility;
+
+import model.Status;
+import model.Task;
+import org.json.JSONObject;
+import parsers.TaskParser;
+import persistence.Jsonifier;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.util.List;
+import java.util.ListIterator;
+
+// Append-only log of the changes made to a list of tasks since the list was last saved to a snapshot file.
+// Every entry is one line of compact JSON that refers to tasks by id; the first line identifies the snapshot
+// the entries apply to.
+public class TaskJournal {
+    private static final String ADD = "add";
+    private static final String UPDATE = "update";
+    private static final String REMOVE = "remove";
+    private static final String STATUS = "status";
+
+    private File journalFile;
+    private File snapshotFile;
+    private int numEntries;
+
+    // EFFECTS: constructs a journal stored in journalFile that records changes made after snapshotFile was saved
+    public TaskJournal(File journalFile, File snapshotFile) {
+        this.journalFile = journalFile;
+        this.snapshotFile = snapshotFile;
+        numEntries = 0;
+    }
+
+    // EFFECTS: returns the number of entries in this journal
+    public int getNumEntries() {
+        return numEntries;
+    }
+
+    // EFFECTS: returns an entry recording that task was added to the end of the list
+    public static JSONObject addEntry(Task task) {
+        return entry(ADD).put("task", Jsonifier.taskToJson(task));
+    }
+
+    // EFFECTS: returns an entry recording that the task with the id of task was replaced by task
+    public static JSONObject updateEntry(Task task) {
+        return entry(UPDATE).put("task", Jsonifier.taskToJson(task));
+    }
+
+    // EFFECTS: returns an entry recording that the task with id was removed from the list
+    public static JSONObject removeEntry(long id) {
+        return entry(REMOVE).put("id", id);
+    }
+
+    // EFFECTS: returns an entry recording that the status of the task with id was set to status
+    public static JSONObject statusEntry(long id, Status status) {
+        return entry(STATUS).put("id", id).put("status", Jsonifier.statusToJson(status));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends entry to the journal file, starting the file with a header if it does not exist yet;
+    //     if the journal ends in a torn line (e.g., after a crash), entry starts on a new line so that it can be
+    //     replayed, while the torn line is still skipped
+    //  throws IOException if the journal cannot be written
+    public void append(JSONObject entry) throws IOException {
+        boolean newJournal = !journalFile.exists();
+        boolean tornLastLine = !newJournal && !endsWithNewline();
+
+        try (Writer writer = new BufferedWriter(new FileWriter(journalFile, true))) {
+            if (newJournal) {
+                writer.write(header().toString());
+                writer.write('\n');
+            } else if (tornLastLine) {
+                writer.write('\n');
+            }
+            writer.write(entry.toString());
+            writer.write('\n');
+        }
+        numEntries++;
+    }
+
+    // MODIFIES: this, tasks
+    // EFFECTS: applies the journaled changes to tasks, which must have been read from the snapshot file.
+    //     A journal that was written against another version of the snapshot is discarded,
+    //     and entries that cannot be applied (e.g., the torn last line of a crash) are skipped.
+    //     The tasks are looked up by id, so every task is read if the journal has any entry.
+    //  throws IOException if the journal cannot be read
+    public void replay(List<Task> tasks) throws IOException {
+        numEntries = 0;
+        if (!journalFile.exists()) {
+            return;
+        }
+        boolean current;
+        LongMap<Task> tasksById = null;
+        try (BufferedReader reader = new BufferedReader(new FileReader(journalFile))) {
+            String line = reader.readLine();
+            current = line != null && isCurrentHeader(line);
+            while (current && (line = reader.readLine()) != null) {
+                tasksById = tasksById == null ? indexById(tasks) : tasksById;
+                apply(line, tasks, tasksById);
+                numEntries++;
+            }
+        }
+        if (!current) {
+            clear();
+        } else if (tasksById != null) {
+            reconcile(tasks, tasksById);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every entry from this journal; to be called once the snapshot file has been rewritten
+    public void clear() {
+        journalFile.delete();
+        numEntries = 0;
+    }
+
+    // EFFECTS: returns true if the journal file is empty or its last character is a newline
+    //  throws IOException if the journal cannot be read
+    private boolean endsWithNewline() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(journalFile, "r")) {
+            if (file.length() == 0) {
+                return true;
+            }
+            file.seek(file.length() - 1);
+            return file.read() == '\n';
+        }
+    }
+
+    // EFFECTS: returns a header identifying the current version of the snapshot file
+    private JSONObject header() {
+        return new JSONObject()
+                .put("snapshot-length", snapshotFile.length())
+                .put("snapshot-modified", snapshotFile.lastModified());
+    }
+
+    // EFFECTS: returns true if line is a header identifying the current version of the snapshot file
+    private boolean isCurrentHeader(String line) {
+        try {
+            JSONObject header = new JSONObject(line);
+            return header.getLong("snapshot-length") == snapshotFile.length()
+                    && header.getLong("snapshot-modified") == snapshotFile.lastModified();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    // EFFECTS: returns a new entry for the operation op
+    private static JSONObject entry(String op) {
+        return new JSONObject().put("op", op);
+    }
+
+    // EFFECTS: returns the tasks mapped by their id
+    private static LongMap<Task> indexById(List<Task> tasks) {
+        LongMap<Task> tasksById = new LongMap<>(tasks.size());
+        for (Task t : tasks) {
+            tasksById.put(t.getId(), t);
+        }
+        return tasksById;
+    }
+
+    // MODIFIES: tasks, tasksById
+    // EFFECTS: applies the entry represented by line to tasksById, and adds new tasks to the end of tasks;
+    //     skips the entry if it cannot be applied
+    private static void apply(String line, List<Task> tasks, LongMap<Task> tasksById) {
+        try {
+            JSONObject entry = new JSONObject(line);
+            String op = entry.getString("op");
+            if (op.equals(ADD)) {
+                addParsedTask(entry, tasks, tasksById);
+            } else if (op.equals(UPDATE)) {
+                setParsedTask(entry, tasksById);
+            } else if (op.equals(REMOVE)) {
+                tasksById.remove(entry.getLong("id"));
+            } else if (op.equals(STATUS)) {
+                tasksById.get(entry.getLong("id")).setStatus(TaskParser.parseStatus(entry.getString("status")));
+            }
+        } catch (RuntimeException e) {
+            // malformed entries are skipped, like malformed tasks in the snapshot file
+        }
+    }
+
+    // MODIFIES: tasks, tasksById
+    // EFFECTS: adds the task recorded in entry to the end of tasks, if it can be parsed
+    private static void addParsedTask(JSONObject entry, List<Task> tasks, LongMap<Task> tasksById) {
+        Task task = TaskParser.parseTask(entry.get("task"));
+        if (task != null) {
+            tasks.add(task);
+            tasksById.put(task.getId(), task);
+        }
+    }
+
+    // MODIFIES: tasksById
+    // EFFECTS: replaces the task with the id of the task recorded in entry, if it can be parsed and is still there
+    private static void setParsedTask(JSONObject entry, LongMap<Task> tasksById) {
+        Task task = TaskParser.parseTask(entry.get("task"));
+        if (task != null && tasksById.containsKey(task.getId())) {
+            tasksById.put(task.getId(), task);
+        }
+    }
+
+    // MODIFIES: tasks
+    // EFFECTS: replaces every task by the task with its id in tasksById, or removes it if there is none
+    private static void reconcile(List<Task> tasks, LongMap<Task> tasksById) {
+        ListIterator<Task> iterator = tasks.listIterator();
+        while (iterator.hasNext()) {
+            Task task = iterator.next();
+            Task current = tasksById.get(task.getId());
+            if (current == null) {
+                iterator.remove();
+            } else if (current != task) {
+                iterator.set(current);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package benchmark;
+
+import model.Priority;
+import model.Project;
+import model.Task;
+import model.Todo;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// Compares iterating over a large project in priority order with Project.iterator() against the iterator it
+// replaced, which made one pass over the to-dos per priority level and allocated a Priority per comparison.
+// Run with: java benchmark.ProjectIterationBenchmark [number of to-dos] [rounds]
+public class ProjectIterationBenchmark {
+    private static final int WARM_UP_ROUNDS = 50;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<Todo> todos = new ArrayList<>(size);
+        Project project = new Project("benchmark");
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("task " + i);
+            task.setPriority(new Priority(1 + (i * 7) % 4));
+            todos.add(task);
+            project.add(task);
+        }
+
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            checkSameOrder(project.iterator(), new PreviousTodoIterator(todos));
+        }
+        report("previous iterator", size, rounds, () -> new PreviousTodoIterator(todos));
+        report("Project.iterator()", size, rounds, project::iterator);
+    }
+
+    // EFFECTS: prints the average time and allocation of iterating rounds times over iterators made by iterators
+    private static void report(String name, int size, int rounds, IteratorFactory iterators) {
+        long checksum = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            Iterator<Todo> iterator = iterators.make();
+            while (iterator.hasNext()) {
+                checksum += iterator.next().getId();
+            }
+        }
+        long nanos = (System.nanoTime() - start) / rounds;
+        long allocated = (allocatedBytes() - allocatedBefore) / rounds;
+        System.out.printf("%-20s %8.2f ms/iteration %12d bytes/iteration (%d to-dos, checksum %d)%n",
+                name, nanos / 1e6, allocated, size, checksum);
+    }
+
+    // EFFECTS: throws IllegalStateException unless both iterators return the same to-dos in the same order
+    private static void checkSameOrder(Iterator<Todo> actual, Iterator<Todo> expected) {
+        while (expected.hasNext()) {
+            if (!actual.hasNext() || actual.next() != expected.next()) {
+                throw new IllegalStateException("Iterators disagree on the priority order");
+            }
+        }
+        if (actual.hasNext()) {
+            throw new IllegalStateException("Iterators disagree on the number of to-dos");
+        }
+    }
+
+    // EFFECTS: returns the number of bytes allocated by the current thread so far, or 0 if it cannot be measured
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private interface IteratorFactory {
+        Iterator<Todo> make();
+    }
+
+    // The priority iterator of Project before it was rebuilt on a counting sort, working on a list of to-dos
+    private static class PreviousTodoIterator implements Iterator<Todo> {
+        private List<Todo> tasks;
+        private int size;
+        private int currentIndex;
+        private int currentPriority;
+        private int numPriority;
+        private Boolean moveToNextPriority;
+        private Todo someTodo;
+        private int sizeEachIteration;
+
+        PreviousTodoIterator(List<Todo> tasks) {
+            this.tasks = tasks;
+            size = tasks.size();
+            currentPriority = 1;
+            moveToNextPriority = true;
+            sizeEachIteration = tasks.size();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentPriority < 5 && sizeEachIteration > 0 && !tasks.isEmpty();
+        }
+
+        @Override
+        public Todo next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (moveToNextPriority) {
+                getNumPriority();
+                while (numPriority == 0) {
+                    currentPriority++;
+                    getNumPriority();
+                }
+            }
+            sizeEachIteration--;
+            return priorityReturn();
+        }
+
+        private void getNumPriority() {
+            while (currentIndex < size) {
+                if (equalsCurrentPriority()) {
+                    numPriority++;
+                }
+                currentIndex++;
+            }
+            currentIndex = 0;
+            moveToNextPriority = false;
+        }
+
+        private Todo priorityReturn() {
+            while (currentIndex < size) {
+                if (numPriority == 1) {
+                    if (equalsCurrentPriority()) {
+                        numPriority--;
+                        someTodo = tasks.get(currentIndex);
+                        break;
+                    }
+                }
+                if (equalsCurrentPriority()) {
+                    numPriority--;
+                    return tasks.get(currentIndex++);
+                }
+                currentIndex++;
+            }
+            currentIndex = 0;
+            currentPriority++;
+            moveToNextPriority = true;
+            return someTodo;
+        }
+
+        private Boolean equalsCurrentPriority() {
+            return tasks.get(currentIndex).getPriority().equals(new Priority(currentPriority));
+        }
+    }
+}
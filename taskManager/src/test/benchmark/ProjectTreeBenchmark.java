@@ -0,0 +1,111 @@
+package benchmark;
+
+import model.Project;
+import model.ProjectTree;
+import model.Status;
+import model.Task;
+import model.Todo;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Aggregates the estimated time to complete of the tasks of synthetic project trees, per status:
+//     deep: a chain of nested projects, one task per level
+//     wide: a root with many sub-projects of many tasks each
+// with a recursive traversal through Project.iterator(), the explicit-stack ProjectTree.forEachTask,
+// and the fork-join ProjectTree.aggregate.
+// Run with: java benchmark.ProjectTreeBenchmark [depth] [sub-projects of the wide tree] [tasks per sub-project]
+public class ProjectTreeBenchmark {
+    private static final int WARM_UP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int width = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int tasksPerProject = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        System.out.printf("%d cores%n", Runtime.getRuntime().availableProcessors());
+
+        compare("deep (" + depth + " levels)", deepTree(depth));
+        compare("wide (" + width + " x " + tasksPerProject + ")", wideTree(width, tasksPerProject));
+    }
+
+    // EFFECTS: prints the time taken by each traversal to aggregate root
+    private static void compare(String name, Project root) {
+        System.out.println(name);
+        report("recursive", () -> recursive(root, new EnumMap<>(Status.class)));
+        report("explicit stack", () -> {
+            Map<Status, Integer> hours = new EnumMap<>(Status.class);
+            ProjectTree.forEachTask(root, task -> add(hours, task));
+            return hours;
+        });
+        report("fork-join", () -> ProjectTree.aggregate(root, Collectors.groupingBy(Task::getStatus,
+                () -> new EnumMap<>(Status.class), Collectors.summingInt(Task::getEstimatedTimeToComplete))));
+    }
+
+    // EFFECTS: prints the average time of aggregation, or that it overflowed the stack
+    private static void report(String name, Supplier<Map<Status, Integer>> aggregation) {
+        try {
+            Map<Status, Integer> hours = null;
+            for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+                aggregation.get();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                hours = aggregation.get();
+            }
+            System.out.printf("    %-15s %8.2f ms %s%n", name, (System.nanoTime() - start) / 1e6 / ROUNDS, hours);
+        } catch (StackOverflowError e) {
+            System.out.printf("    %-15s stack overflow%n", name);
+        }
+    }
+
+    // EFFECTS: adds the estimated time of the tasks of project and its sub-projects to hours, recursively
+    private static Map<Status, Integer> recursive(Project project, Map<Status, Integer> hours) {
+        for (Todo todo : project) {
+            if (todo instanceof Project) {
+                recursive((Project) todo, hours);
+            } else {
+                add(hours, (Task) todo);
+            }
+        }
+        return hours;
+    }
+
+    private static void add(Map<Status, Integer> hours, Task task) {
+        hours.merge(task.getStatus(), task.getEstimatedTimeToComplete(), Integer::sum);
+    }
+
+    // EFFECTS: returns a chain of depth nested projects with one task at each level
+    private static Project deepTree(int depth) {
+        Project project = new Project("level " + depth);
+        for (int i = depth - 1; i >= 0; i--) {
+            Project parent = new Project("level " + i);
+            parent.add(task(i));
+            parent.add(project);
+            project = parent;
+        }
+        return project;
+    }
+
+    // EFFECTS: returns a project of width sub-projects with tasksPerProject tasks each
+    private static Project wideTree(int width, int tasksPerProject) {
+        Project root = new Project("root");
+        for (int i = 0; i < width; i++) {
+            Project sub = new Project("project " + i);
+            for (int j = 0; j < tasksPerProject; j++) {
+                sub.add(task(i * tasksPerProject + j));
+            }
+            root.add(sub);
+        }
+        return root;
+    }
+
+    private static Task task(int i) {
+        Task task = new Task("task " + i);
+        task.setEstimatedTimeToComplete(i % 8);
+        task.setStatus(Status.values()[i % Status.values().length]);
+        return task;
+    }
+}
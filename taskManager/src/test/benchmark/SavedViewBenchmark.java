@@ -0,0 +1,97 @@
+package benchmark;
+
+import model.Priority;
+import model.SavedView;
+import model.Status;
+import model.Task;
+import model.TaskQuery;
+import model.TaskStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static model.TaskQuery.*;
+
+// Compares keeping a dozen saved views up to date as tasks are edited, by applying each edit to the views that
+// the store maintains, against recomputing every view (selecting and sorting its tasks) after each edit.
+// Run with: java benchmark.SavedViewBenchmark [number of tasks] [number of edits]
+public class SavedViewBenchmark {
+    private static final int WARM_UP_ROUNDS = 10;
+    private static final int VIEWS = 12;
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int edits = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Random random = new Random(250);
+        TaskStore store = new TaskStore();
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("task " + i);
+            task.setPriority(new Priority(1 + random.nextInt(4)));
+            task.setStatus(Status.values()[random.nextInt(4)]);
+            task.addTag("client" + random.nextInt(VIEWS));
+            store.add(task);
+        }
+        List<TaskQuery> queries = new ArrayList<>();
+        for (int i = 0; i < VIEWS; i++) {
+            queries.add(tag("client" + i).and(status(Status.IN_PROGRESS)).or(urgent().and(important())
+                    .and(dueBetween(UNBOUNDED, (i + 1) * DAY))));
+        }
+        report("recompute", edits, () -> edit(store, random), () -> recompute(store, queries));
+        for (int i = 0; i < VIEWS; i++) {
+            store.addView("view " + i, queries.get(i));
+        }
+        report("saved views", edits, () -> edit(store, random), () -> count(store.getViews()));
+    }
+
+    // MODIFIES: store
+    // EFFECTS: sets the status or priority of a random task of store
+    private static void edit(TaskStore store, Random random) {
+        Task task = store.get(random.nextInt(store.size()));
+        if (random.nextBoolean()) {
+            task.setStatus(Status.values()[random.nextInt(4)]);
+        } else {
+            task.setPriority(new Priority(1 + random.nextInt(4)));
+        }
+    }
+
+    // EFFECTS: returns the total number of tasks of the views of queries, selected and sorted from store
+    private static int recompute(TaskStore store, List<TaskQuery> queries) {
+        int total = 0;
+        for (TaskQuery query : queries) {
+            List<Task> tasks = query.select(store);
+            tasks.sort(SavedView.BY_PRIORITY_AND_DUE_DATE);
+            total += tasks.size();
+        }
+        return total;
+    }
+
+    // EFFECTS: returns the total number of tasks of views
+    private static int count(List<SavedView> views) {
+        int total = 0;
+        for (SavedView view : views) {
+            total += view.size();
+        }
+        return total;
+    }
+
+    private static void report(String name, int edits, Runnable edit, Count views) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            edit.run();
+            views.run();
+        }
+        int result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < edits; i++) {
+            edit.run();
+            result = views.run();
+        }
+        System.out.printf("%-12s %10.3f ms/edit (%d tasks in views)%n", name,
+                (System.nanoTime() - start) / 1e6 / edits, result);
+    }
+
+    private interface Count {
+        int run();
+    }
+}
@@ -0,0 +1,83 @@
+package benchmark;
+
+import model.Tag;
+import model.TagQuery;
+import model.TagRegistry;
+import model.Task;
+import model.TaskStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static model.TagQuery.tag;
+
+// Compares boolean tag queries answered by the TagIndex of a TaskStore against a scan of the tags of every task.
+// Every task has one of a few common tags and two of many rare ones.
+// Run with: java benchmark.TagIndexBenchmark [number of tasks] [number of tags] [rounds]
+public class TagIndexBenchmark {
+    private static final int WARM_UP_ROUNDS = 10;
+    private static final int COMMON_TAGS = 8;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int numTags = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        Random random = new Random(210);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("task " + i);
+            task.addTag("tag" + random.nextInt(COMMON_TAGS));
+            task.addTag("tag" + (COMMON_TAGS + random.nextInt(numTags - COMMON_TAGS)));
+            task.addTag("tag" + (COMMON_TAGS + random.nextInt(numTags - COMMON_TAGS)));
+            tasks.add(task);
+        }
+        long start = System.nanoTime();
+        TaskStore store = new TaskStore(tasks);
+        System.out.printf("indexing the store %8.2f ms (%d tasks, %d tags)%n",
+                (System.nanoTime() - start) / 1e6, size, numTags);
+
+        Tag common = TagRegistry.lookup("tag0");
+        Tag rare = TagRegistry.lookup("tag100");
+        Tag other = TagRegistry.lookup("tag1");
+        compare("#tag0 AND #tag100", rounds, tag("tag0").and(tag("tag100")), store,
+                () -> scan(tasks, t -> t.containsTag(common) && t.containsTag(rare)));
+        compare("#tag0 OR #tag1 AND NOT #tag100", rounds, tag("tag0").or(tag("tag1")).andNot(tag("tag100")), store,
+                () -> scan(tasks, t -> (t.containsTag(common) || t.containsTag(other)) && !t.containsTag(rare)));
+    }
+
+    // EFFECTS: prints the average time of counting the tasks that match query with the index and with a scan
+    private static void compare(String name, int rounds, TagQuery query, TaskStore store, Count scan) {
+        System.out.println(name);
+        report("tag index", rounds, () -> store.getTagIndex().count(query));
+        report("scan", rounds, scan);
+    }
+
+    private static void report(String name, int rounds, Count count) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            count.run();
+        }
+        int result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            result = count.run();
+        }
+        System.out.printf("    %-10s %10.3f ms/query (%d tasks)%n", name,
+                (System.nanoTime() - start) / 1e6 / rounds, result);
+    }
+
+    // EFFECTS: returns the number of tasks that match predicate
+    private static int scan(List<Task> tasks, java.util.function.Predicate<Task> predicate) {
+        int count = 0;
+        for (Task t : tasks) {
+            if (predicate.test(t)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private interface Count {
+        int run();
+    }
+}
@@ -0,0 +1,72 @@
+package benchmark;
+
+import model.DueDate;
+import model.Priority;
+import model.Status;
+import model.Task;
+import model.TaskTable;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+// Compares a report over many tasks (the number and total hours of the important tasks in progress that are due
+// within a week) computed by scanning the Task objects against the same report on a TaskTable.
+// Run with: java benchmark.TaskTableBenchmark [number of tasks] [rounds]
+public class TaskTableBenchmark {
+    private static final int WARM_UP_ROUNDS = 10;
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        long now = System.currentTimeMillis();
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("task " + i);
+            task.setStatus(Status.values()[i % 4]);
+            task.setPriority(new Priority(1 + (i / 4) % 4));
+            task.setDueDate(new DueDate(new Date(now + (i % 30 - 10) * DAY)));
+            task.setEstimatedTimeToComplete(i % 9);
+            tasks.add(task);
+        }
+        Date weekFromNow = new Date(now + 7 * DAY);
+
+        long start = System.nanoTime();
+        TaskTable table = new TaskTable(tasks);
+        System.out.printf("building the table   %8.2f ms (%d tasks)%n", (System.nanoTime() - start) / 1e6, size);
+        report("Task objects", rounds, () -> scanObjects(tasks, weekFromNow));
+        report("TaskTable", rounds, () -> table.select().withStatus(Status.IN_PROGRESS).withPriorityLevel(1, 2)
+                .dueBefore(weekFromNow).sumEstimatedTimeToComplete());
+    }
+
+    // EFFECTS: prints the average time of report over rounds, after warming it up
+    private static void report(String name, int rounds, Report report) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            report.run();
+        }
+        long result = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            result = report.run();
+        }
+        System.out.printf("%-20s %8.2f ms/report (total hours %d)%n", name,
+                (System.nanoTime() - start) / 1e6 / rounds, result);
+    }
+
+    // EFFECTS: returns the total hours of the important tasks in progress due before date
+    private static long scanObjects(List<Task> tasks, Date date) {
+        long hours = 0;
+        for (Task t : tasks) {
+            if (t.getStatus() == Status.IN_PROGRESS && t.getPriority().isImportant()
+                    && t.getDueDate() != null && t.getDueDate().getDate().before(date)) {
+                hours += t.getEstimatedTimeToComplete();
+            }
+        }
+        return hours;
+    }
+
+    private interface Report {
+        long run();
+    }
+}
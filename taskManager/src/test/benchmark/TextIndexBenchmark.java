@@ -0,0 +1,93 @@
+package benchmark;
+
+import model.Priority;
+import model.Task;
+import model.TaskStore;
+import model.TextIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+// Compares searches of the TextIndex of a TaskStore against a scan that matches the description of every task.
+// Descriptions are four words drawn from a vocabulary in which a few words are much more common than the rest.
+// Run with: java benchmark.TextIndexBenchmark [number of tasks] [vocabulary size] [rounds]
+public class TextIndexBenchmark {
+    private static final int WARM_UP_ROUNDS = 20;
+    private static final int LIMIT = 20;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        int vocabulary = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        Random random = new Random(210);
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 4; w++) {
+                description.append(word((int) (vocabulary * Math.pow(random.nextDouble(), 3)))).append(' ');
+            }
+            Task task = new Task(description.toString().trim());
+            task.setPriority(new Priority(1 + random.nextInt(4)));
+            tasks.add(task);
+        }
+        long start = System.nanoTime();
+        TaskStore store = new TaskStore(tasks);
+        System.out.printf("indexing the store %8.2f ms (%d tasks)%n", (System.nanoTime() - start) / 1e6, size);
+
+        TextIndex index = store.getTextIndex();
+        compare("common word", rounds, () -> index.search(word(1), LIMIT), tasks, word(1), false);
+        compare("rare word", rounds, () -> index.search(word(15000), LIMIT), tasks, word(15000), false);
+        compare("two words", rounds, () -> index.search(word(2) + " " + word(900), LIMIT), tasks,
+                word(2) + " " + word(900), false);
+        compare("short prefix", rounds, () -> index.searchPrefix("wa", LIMIT), tasks, "wa", true);
+        compare("long prefix", rounds, () -> index.searchPrefix("wbcd", LIMIT), tasks, "wbcd", true);
+    }
+
+    // EFFECTS: returns the word of the vocabulary at rank
+    private static String word(int rank) {
+        return "w" + Integer.toString(rank, 26).replace('0', 'z');
+    }
+
+    // EFFECTS: prints the average time of search and of a scan for the same words
+    private static void compare(String name, int rounds, Supplier<List<Task>> search, List<Task> tasks,
+                                String query, boolean lastIsPrefix) {
+        System.out.println(name + " (" + query + ")");
+        report("text index", rounds, search);
+        report("scan", Math.max(1, rounds / 50), () -> scan(tasks, query, lastIsPrefix));
+    }
+
+    private static void report(String name, int rounds, Supplier<List<Task>> search) {
+        for (int i = 0; i < Math.min(rounds, WARM_UP_ROUNDS); i++) {
+            search.get();
+        }
+        List<Task> found = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            found = search.get();
+        }
+        System.out.printf("    %-10s %10.4f ms/search (%d tasks)%n", name,
+                (System.nanoTime() - start) / 1e6 / rounds, found.size());
+    }
+
+    // EFFECTS: returns the first LIMIT tasks whose description contains every word of query (the last one as a
+    //     prefix if lastIsPrefix), by matching substrings of each description; the result is not ranked
+    private static List<Task> scan(List<Task> tasks, String query, boolean lastIsPrefix) {
+        String[] words = query.toLowerCase(Locale.ROOT).split(" ");
+        List<Task> found = new ArrayList<>();
+        for (Task t : tasks) {
+            String description = " " + t.getDescription().toLowerCase(Locale.ROOT) + " ";
+            boolean matches = true;
+            for (int i = 0; i < words.length && matches; i++) {
+                String end = lastIsPrefix && i == words.length - 1 ? "" : " ";
+                matches = description.contains(" " + words[i] + end);
+            }
+            if (matches && found.size() < LIMIT) {
+                found.add(t);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,167 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDueDateIndex {
+    private static final ZoneId ZONE = ZoneId.of("America/Vancouver");
+
+    private SettableClock clock;
+    private DueDateIndex index;
+    private Task yesterday;
+    private Task earlierToday;
+    private Task laterToday;
+    private Task tomorrow;
+    private Task inSixDays;
+    private Task inSevenDays;
+
+    @BeforeEach
+    public void runBefore() {
+        clock = new SettableClock(LocalDateTime.of(2019, 3, 8, 12, 0));
+        index = new DueDateIndex(clock);
+        yesterday = add("yesterday", LocalDateTime.of(2019, 3, 7, 23, 59));
+        earlierToday = add("earlier today", LocalDateTime.of(2019, 3, 8, 0, 0));
+        laterToday = add("later today", LocalDateTime.of(2019, 3, 8, 23, 59));
+        tomorrow = add("tomorrow", LocalDateTime.of(2019, 3, 9, 8, 30));
+        inSixDays = add("in six days", LocalDateTime.of(2019, 3, 14, 23, 59));
+        inSevenDays = add("in seven days", LocalDateTime.of(2019, 3, 15, 0, 0));
+    }
+
+    @Test
+    public void testQueries() {
+        assertEquals(Arrays.asList(yesterday, earlierToday), drain(index.overdue()));
+        assertEquals(Arrays.asList(earlierToday, laterToday), drain(index.dueToday()));
+        assertEquals(Arrays.asList(tomorrow), drain(index.dueTomorrow()));
+        assertEquals(Arrays.asList(earlierToday, laterToday, tomorrow, inSixDays), drain(index.dueWithinAWeek()));
+    }
+
+    @Test
+    public void testMidnightRollover() {
+        drain(index.dueToday());
+        clock.set(LocalDateTime.of(2019, 3, 9, 0, 0));
+        assertEquals(Arrays.asList(tomorrow), drain(index.dueToday()));
+        assertTrue(drain(index.dueTomorrow()).isEmpty());
+        assertEquals(Arrays.asList(tomorrow, inSixDays, inSevenDays), drain(index.dueWithinAWeek()));
+        assertEquals(Arrays.asList(yesterday, earlierToday, laterToday), drain(index.overdue()));
+    }
+
+    @Test
+    public void testDaylightSavingTime() {
+        clock.set(LocalDateTime.of(2019, 3, 9, 12, 0));
+        Task afterChange = add("after change", LocalDateTime.of(2019, 3, 10, 23, 30));
+        assertEquals(Arrays.asList(tomorrow), drain(index.dueToday()));
+        assertEquals(Arrays.asList(afterChange), drain(index.dueTomorrow()));
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove(laterToday, time(LocalDateTime.of(2019, 3, 8, 23, 59)));
+        index.remove(tomorrow, 0);
+        assertEquals(Arrays.asList(earlierToday), drain(index.dueToday()));
+        assertEquals(Arrays.asList(tomorrow), drain(index.dueTomorrow()));
+        assertEquals(2, index.range(time(LocalDateTime.of(2019, 3, 8, 0, 0)),
+                time(LocalDateTime.of(2019, 3, 10, 0, 0))).size());
+    }
+
+    @Test
+    public void testEstimateCount() {
+        assertEquals(6, index.size());
+        assertEquals(2, index.estimateCount(utc(2019, 3, 8), utc(2019, 3, 9)));
+        assertEquals(2, index.estimateCount(utc(2019, 3, 9), utc(2019, 3, 10)));
+        assertEquals(4, index.estimateCount(utc(2019, 3, 8), utc(2019, 3, 10)));
+        assertEquals(2, index.estimateCount(utc(2019, 3, 15), utc(2019, 3, 16)));
+        assertEquals(6, index.estimateCount(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(2, index.estimateCount(utc(2019, 3, 8) + 1, utc(2019, 3, 8) + 2));
+        assertEquals(0, index.estimateCount(utc(2019, 3, 10), utc(2019, 3, 14)));
+        assertEquals(0, index.estimateCount(utc(2019, 3, 9), utc(2019, 3, 8)));
+        index.remove(laterToday, time(LocalDateTime.of(2019, 3, 8, 23, 59)));
+        assertEquals(5, index.size());
+        assertEquals(1, index.estimateCount(utc(2019, 3, 9), utc(2019, 3, 10)));
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.estimateCount(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSameAsDueDate() {
+        TaskStore store = new TaskStore();
+        long now = System.currentTimeMillis();
+        for (int hours = -31; hours <= 24 * 8; hours += 5) {
+            Task task = new Task("in " + hours + " hours");
+            task.setDueDate(new DueDate(new Date(now + hours * 60 * 60 * 1000L)));
+            store.add(task);
+        }
+        DueDateIndex dueDates = store.getDueDateIndex();
+        List<Task> today = drain(dueDates.dueToday());
+        List<Task> tomorrow = drain(dueDates.dueTomorrow());
+        List<Task> overdue = drain(dueDates.overdue());
+        for (Task t : store) {
+            assertEquals(t.getDueDate().isDueToday(), today.contains(t));
+            assertEquals(t.getDueDate().isDueTomorrow(), tomorrow.contains(t));
+            assertEquals(t.getDueDate().isOverdue(), overdue.contains(t));
+        }
+    }
+
+    private Task add(String description, LocalDateTime due) {
+        Task task = new Task(description);
+        index.add(task, time(due));
+        return task;
+    }
+
+    private static long time(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static long utc(int year, int month, int day) {
+        return LocalDateTime.of(year, month, day, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static List<Task> drain(Iterator<Task> iterator) {
+        List<Task> tasks = new ArrayList<>();
+        while (iterator.hasNext()) {
+            tasks.add(iterator.next());
+        }
+        return tasks;
+    }
+
+    // A clock in ZONE that stays at the time it was last set to
+    private static class SettableClock extends Clock {
+        private Instant instant;
+
+        SettableClock(LocalDateTime dateTime) {
+            set(dateTime);
+        }
+
+        void set(LocalDateTime dateTime) {
+            instant = dateTime.atZone(ZONE).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
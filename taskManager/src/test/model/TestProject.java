@@ -5,8 +5,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -500,6 +505,69 @@ public class TestProject {
         }
     }
 
+    @Test
+    public void testRollupsFollowNestedChanges() {
+        Project sub = new Project("sub");
+        Task first = new Task("first");
+        Task second = new Task("second");
+        sub.add(first);
+        sub.add(second);
+        project.add(sub);
+        project.add(t);
+
+        first.setProgress(50);
+        second.setProgress(25);
+        second.setEstimatedTimeToComplete(4);
+        t.setProgress(100);
+        t.setEstimatedTimeToComplete(2);
+        assertEquals(37, sub.getProgress());
+        assertEquals(4, sub.getEstimatedTimeToComplete());
+        assertEquals(68, project.getProgress());
+        assertEquals(6, project.getEstimatedTimeToComplete());
+
+        sub.remove(second);
+        second.setProgress(0);
+        assertEquals(50, sub.getProgress());
+        assertEquals(0, sub.getEstimatedTimeToComplete());
+        assertEquals(75, project.getProgress());
+        assertEquals(2, project.getEstimatedTimeToComplete());
+
+        project.remove(sub);
+        first.setProgress(100);
+        assertEquals(100, project.getProgress());
+        assertEquals(100, sub.getProgress());
+    }
+
+    @Test
+    public void testRollupsSeveralParents() {
+        Project other = new Project("other");
+        project.add(t);
+        other.add(t);
+        other.add(a);
+        t.setProgress(60);
+        t.setEstimatedTimeToComplete(3);
+        assertEquals(60, project.getProgress());
+        assertEquals(30, other.getProgress());
+        assertEquals(3, other.getEstimatedTimeToComplete());
+    }
+
+    @Test
+    public void testRollupsDeepTree() {
+        Task leaf = new Task("leaf");
+        Project top = project;
+        Project current = project;
+        for (int depth = 0; depth < 10000; depth++) {
+            Project child = new Project("depth " + depth);
+            current.add(child);
+            current = child;
+        }
+        current.add(leaf);
+        leaf.setProgress(100);
+        leaf.setEstimatedTimeToComplete(8);
+        assertEquals(100, top.getProgress());
+        assertEquals(8, top.getEstimatedTimeToComplete());
+    }
+
     @Test
     public void testIteratorNone(){
         assertFalse(project.iterator().hasNext());
@@ -536,6 +604,31 @@ public class TestProject {
 
     }
 
+    @Test
+    public void testIteratorAllPrioritiesStable(){
+        Todo[] todos = new Todo[12];
+        for (int i = 0; i < todos.length; i++) {
+            todos[i] = i % 5 == 0 ? new Project("project " + i) : new Task("task " + i);
+            todos[i].setPriority(new Priority(4 - i % 4));
+            project.add(todos[i]);
+        }
+
+        Iterator<Todo> iterator = project.iterator();
+        for (int level = 1; level <= 4; level++) {
+            for (int i = 4 - level; i < todos.length; i += 4) {
+                assertTrue(iterator.hasNext());
+                assertSame(todos[i], iterator.next());
+            }
+        }
+        assertFalse(iterator.hasNext());
+        try {
+            iterator.next();
+            fail("Should have thrown NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testIteratorOneImportantOneUrgentMultipleIterators(){
         Task aTask = new Task("important ## important");
@@ -649,6 +742,91 @@ public class TestProject {
         }
     }
 
+    @Test
+    public void testLargeProject() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 2 * Project.LARGE_PROJECT_SIZE; i++) {
+            Task task = new Task("task " + i);
+            tasks.add(task);
+            project.add(task);
+            project.add(new Task("task " + i));
+        }
+        assertEquals(tasks.size(), project.getNumberOfTasks());
+        assertTrue(project.contains(new Task("task 70")));
+        assertFalse(project.contains(new Task("task 1000")));
+
+        tasks.get(70).setDescription("renamed");
+        assertFalse(project.contains(new Task("task 70")));
+        assertTrue(project.contains(new Task("renamed")));
+        tasks.get(71).setStatus(Status.DONE);
+        assertFalse(project.contains(new Task("task 71")));
+
+        project.remove(new Task("renamed"));
+        assertFalse(project.contains(tasks.get(70)));
+        project.add(tasks.get(70));
+        project.remove(new Task("task 0"));
+        tasks.remove(0);
+        tasks.add(tasks.remove(69));
+
+        Iterator<Todo> iterator = project.iterator();
+        for (Task task : tasks) {
+            assertSame(task, iterator.next());
+        }
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testLargeProjectInPlaceEdits() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task task = new Task("task " + i);
+            tasks.add(task);
+            project.add(task);
+        }
+        tasks.get(5).getPriority().setUrgent(true);
+        tasks.get(6).setDueDate(new DueDate());
+        tasks.get(6).getDueDate().postponeOneDay();
+        tasks.get(7).setDescription("task 8");
+        for (Task task : tasks) {
+            assertTrue(project.contains(task));
+            project.add(task);
+        }
+        assertEquals(100, project.getNumberOfTasks());
+
+        project.remove(tasks.get(8));
+        assertSame(tasks.get(7), project.stream().filter(tasks.get(8)::equals).findFirst().get());
+        assertTrue(project.contains(tasks.get(7)));
+        project.add(tasks.get(7));
+        assertEquals(99, project.getNumberOfTasks());
+        assertEquals(99, project.stream().count());
+        assertSame(tasks.get(5), project.iterator().next());
+    }
+
+    @Test
+    public void testSpliterators() {
+        List<Todo> inserted = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Task(i % 3 == 0 ? "task " + i + " ## urgent" : "task " + i);
+            inserted.add(task);
+            project.add(task);
+        }
+        List<Todo> prioritized = new ArrayList<>();
+        project.forEach(prioritized::add);
+
+        Spliterator<Todo> spliterator = project.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(1000, spliterator.estimateSize());
+        Spliterator<Todo> prefix = spliterator.trySplit();
+        assertEquals(500, prefix.estimateSize());
+        assertEquals(500, spliterator.estimateSize());
+
+        assertEquals(prioritized, project.stream().collect(Collectors.toList()));
+        assertEquals(prioritized, project.parallelStream().collect(Collectors.toList()));
+        assertEquals(inserted, StreamSupport.stream(project.insertionOrderSpliterator(), true)
+                .collect(Collectors.toList()));
+        assertEquals(334, project.parallelStream().filter(t -> t.getPriority().isUrgent()).count());
+    }
+
     @Test
     public void testHashcodeEquals(){
         Project proj = new Project("project");
@@ -0,0 +1,96 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestProjectTree {
+    private Project root;
+
+    @BeforeEach
+    public void runBefore() {
+        root = new Project("root");
+    }
+
+    @Test
+    public void testForEachTaskDepthFirst() {
+        Project sub = new Project("sub");
+        Project shared = new Project("shared");
+        Task a = new Task("a");
+        Task b = new Task("b");
+        Task c = new Task("c");
+        Task d = new Task("d");
+        shared.add(c);
+        sub.add(b);
+        sub.add(shared);
+        root.add(a);
+        root.add(sub);
+        root.add(shared);
+        root.add(d);
+
+        List<Task> visited = new ArrayList<>();
+        ProjectTree.forEachTask(root, visited::add);
+        assertEquals(4, visited.size());
+        assertSame(a, visited.get(0));
+        assertSame(b, visited.get(1));
+        assertSame(c, visited.get(2));
+        assertSame(d, visited.get(3));
+    }
+
+    @Test
+    public void testForEachTaskDeepTree() {
+        Project project = root;
+        for (int i = 0; i < 100000; i++) {
+            Project sub = new Project("level " + i);
+            sub.add(new Task("task " + i));
+            project.add(sub);
+            project = sub;
+        }
+        assertEquals(100000, ProjectTree.getTasks(root).length);
+        assertEquals(Long.valueOf(100000), ProjectTree.aggregate(root, Collectors.counting()));
+    }
+
+    @Test
+    public void testAggregateWideTree() {
+        for (int i = 0; i < 50; i++) {
+            Project sub = new Project("project " + i);
+            for (int j = 0; j < 1000; j++) {
+                Task task = new Task("task " + i + " " + j);
+                task.setEstimatedTimeToComplete(j % 10);
+                if (j % 4 == 0) {
+                    task.setStatus(Status.DONE);
+                }
+                sub.add(task);
+            }
+            root.add(sub);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(Integer.valueOf(50 * 4500), ProjectTree.aggregate(root,
+                    Collectors.summingInt(Task::getEstimatedTimeToComplete), pool));
+            Map<Status, Long> byStatus = ProjectTree.aggregate(root,
+                    Collectors.groupingBy(Task::getStatus, Collectors.counting()), pool);
+            assertEquals(Long.valueOf(12500), byStatus.get(Status.DONE));
+            assertEquals(Long.valueOf(37500), byStatus.get(Status.TODO));
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(50 * 4500, root.getEstimatedTimeToComplete());
+    }
+
+    @Test
+    public void testAggregateSmallTree() {
+        assertEquals(Long.valueOf(0), ProjectTree.aggregate(root, Collectors.counting()));
+        root.add(new Task("a"));
+        assertEquals("a", ProjectTree.aggregate(root, Collectors.mapping(Task::getDescription,
+                Collectors.joining())));
+    }
+}
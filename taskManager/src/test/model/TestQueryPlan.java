@@ -0,0 +1,164 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static model.TaskQuery.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestQueryPlan {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private TaskStore store;
+
+    @BeforeEach
+    public void runBefore() {
+        store = new TaskStore();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Task("task " + i);
+            task.setStatus(i % 100 == 1 ? Status.IN_PROGRESS : Status.TODO);
+            task.setPriority(new Priority(i < 10 ? 1 : 4));
+            task.setProgress(i % 101);
+            if (i % 2 == 0) {
+                task.setDueDate(new DueDate(new Date(now + (i % 30) * DAY + DAY / 2)));
+                task.addTag("plan-even");
+            }
+            if (i % 10 != 0) {
+                task.addTag("plan-common");
+            }
+            if (i % 5 == 0) {
+                task.addTag("plan-five");
+            }
+            if (i % 50 == 0) {
+                task.addTag("plan-rare");
+            }
+            store.add(task);
+        }
+    }
+
+    @Test
+    public void testChoosesSmallestIndex() {
+        QueryPlan plan = tag("plan-common").and(status(Status.IN_PROGRESS)).plan(store);
+        assertEquals("status index: IN_PROGRESS", plan.getAccessPath());
+        assertEquals(10, plan.getEstimatedRows());
+        assertEquals(Collections.singletonList("#plan-common"), plan.getFilters());
+        assertEquals(10, plan.execute().size());
+
+        plan = tag("plan-common").and(progressBetween(50, 100)).and(tag("plan-rare")).plan(store);
+        assertEquals("tag index: #plan-rare", plan.getAccessPath());
+        assertEquals(Arrays.asList("50<=progress<=100", "#plan-common"), plan.getFilters());
+        assertTrue(plan.execute().isEmpty());
+
+        plan = tag("plan-even").and(tag("plan-five")).plan(store);
+        assertEquals("tag index: #plan-even & #plan-five", plan.getAccessPath());
+        assertEquals(100, plan.getEstimatedRows());
+        assertTrue(plan.getFilters().isEmpty());
+        assertEquals(100, plan.execute().size());
+    }
+
+    @Test
+    public void testScansWhenNoIndexIsCheaper() {
+        QueryPlan plan = progressBetween(0, 50).and(not(status(Status.DONE))).plan(store);
+        assertEquals("scan", plan.getAccessPath());
+        assertEquals(1000, plan.getEstimatedRows());
+        assertEquals(Arrays.asList("0<=progress<=50", "!status:DONE"), plan.getFilters());
+
+        plan = tag("plan-common").or(status(Status.IN_PROGRESS)).plan(store);
+        assertEquals("scan", plan.getAccessPath());
+        assertEquals(Collections.singletonList("(#plan-common | status:IN_PROGRESS)"), plan.getFilters());
+        assertEquals(900, plan.execute().size());
+
+        plan = status(Status.IN_PROGRESS).or(tag("plan-rare")).plan(store);
+        assertEquals("union of status index: IN_PROGRESS and tag index: #plan-rare", plan.getAccessPath());
+        assertTrue(plan.getFilters().isEmpty());
+        assertEquals(30, plan.execute().size());
+    }
+
+    @Test
+    public void testStatisticsFollowMutations() {
+        TaskQuery query = tag("plan-even").and(status(Status.DONE));
+        assertEquals("status index: DONE", query.plan(store).getAccessPath());
+        assertEquals(0, query.plan(store).getEstimatedRows());
+        for (Task t : store) {
+            t.setStatus(Status.DONE);
+        }
+        assertEquals("tag index: #plan-even", query.plan(store).getAccessPath());
+        assertEquals(500, query.plan(store).getEstimatedRows());
+        for (Task t : store) {
+            t.removeTag("plan-even");
+        }
+        assertEquals(0, query.plan(store).getEstimatedRows());
+        assertEquals("scan", noDueDate().plan(store).getAccessPath());
+
+        QueryPlan plan = noDueDate().and(urgent()).plan(store);
+        assertEquals("priority index: urgent", plan.getAccessPath());
+        assertEquals(Collections.singletonList("due:none"), plan.getFilters());
+    }
+
+    @Test
+    public void testDueDateEstimates() {
+        QueryPlan plan = dueBetween(UNBOUNDED, 2 * DAY).and(tag("plan-common")).plan(store);
+        assertEquals("due date index: due<48h", plan.getAccessPath());
+        assertTrue(plan.getEstimatedRows() >= plan.execute().size());
+        assertTrue(plan.getEstimatedRows() <= 3 * 17 + 1);
+        assertEquals(Collections.singletonList("#plan-common"), plan.getFilters());
+
+        plan = noDueDate().and(progressBetween(0, 10)).plan(store);
+        assertEquals("scan", plan.getAccessPath());
+        assertEquals(Arrays.asList("0<=progress<=10", "due:none"), plan.getFilters());
+    }
+
+    @Test
+    public void testMatchesScan() {
+        List<TaskQuery> queries = Arrays.asList(
+                tag("plan-common").and(status(Status.IN_PROGRESS)),
+                tag("plan-even").and(tag("plan-five")).and(dueBetween(DAY, 10 * DAY)),
+                important().and(tag("plan-rare").or(status(Status.IN_PROGRESS))),
+                dueBetween(UNBOUNDED, 3 * DAY).or(tag("plan-rare")).and(not(tag("plan-five"))),
+                progressBetween(10, 80).and(tag("plan-common").or(noDueDate())));
+        for (TaskQuery query : queries) {
+            assertEquals(sorted(query.select(new ArrayList<>(store))), sorted(query.select(store)), query.toString());
+        }
+    }
+
+    @Test
+    public void testMatchesScanAfterInPlaceChanges() {
+        store.get(500).getPriority().setUrgent(true);
+        store.get(3).getPriority().setImportant(false);
+        store.get(4).getDueDate().postponeOneWeek();
+        store.get(6).getDueDate().setDueTime(0, 0);
+        assertEquals(11, urgent().select(store).size());
+        assertEquals(9, important().select(store).size());
+
+        List<TaskQuery> queries = Arrays.asList(
+                urgent(),
+                urgent().and(not(important())),
+                important().and(tag("plan-even")),
+                dueBetween(UNBOUNDED, 8 * DAY).and(tag("plan-even")));
+        for (TaskQuery query : queries) {
+            assertEquals(sorted(query.select(new ArrayList<>(store))), sorted(query.select(store)), query.toString());
+        }
+    }
+
+    @Test
+    public void testExplain() {
+        String explained = tag("plan-common").and(status(Status.IN_PROGRESS)).plan(store).explain();
+        assertTrue(explained.startsWith(
+                "access: status index: IN_PROGRESS (estimated rows 10, cost 10; scan cost 1000)"), explained);
+        assertTrue(explained.contains("filter 1: #plan-common (selectivity 0.900)"));
+    }
+
+    private static List<Task> sorted(List<Task> tasks) {
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingLong(Task::getId));
+        return sorted;
+    }
+}
@@ -0,0 +1,191 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static model.TaskQuery.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSavedView {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private TaskStore store;
+    private List<Task> tasks;
+    private SavedView urgentWork;
+    private MirrorListener mirror;
+
+    @BeforeEach
+    public void runBefore() {
+        store = new TaskStore();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Task task = new Task("task " + i);
+            task.setPriority(new Priority(1 + i % 4));
+            if (i % 2 == 0) {
+                task.addTag("view-work");
+            }
+            tasks.add(task);
+        }
+        store.addAll(tasks);
+        urgentWork = store.addView("urgent work", tag("view-work").and(urgent()));
+        mirror = new MirrorListener(urgentWork);
+        urgentWork.addListener(mirror);
+    }
+
+    @Test
+    public void testInitialTasks() {
+        assertEquals("urgent work", urgentWork.getName());
+        assertEquals(Arrays.asList(tasks.get(0), tasks.get(4), tasks.get(8), tasks.get(12), tasks.get(16),
+                tasks.get(2), tasks.get(6), tasks.get(10), tasks.get(14), tasks.get(18)), urgentWork.getTasks());
+        assertTrue(urgentWork.contains(tasks.get(2)));
+        assertFalse(urgentWork.contains(tasks.get(1)));
+        assertEquals(Collections.singletonList(urgentWork), store.getViews());
+    }
+
+    @Test
+    public void testFieldChanges() {
+        tasks.get(1).setPriority(new Priority(3));
+        tasks.get(1).addTag("view-work");
+        assertEquals(11, urgentWork.size());
+        assertEquals(Collections.singletonList("added 5"), mirror.events);
+        tasks.get(2).setPriority(new Priority(1));
+        assertEquals(tasks.get(2), urgentWork.getTasks().get(1));
+        tasks.get(4).setPriority(new Priority(2));
+        assertFalse(urgentWork.contains(tasks.get(4)));
+        tasks.get(0).removeTag("view-work");
+        assertFalse(urgentWork.contains(tasks.get(0)));
+        mirror.events.clear();
+        tasks.get(8).setProgress(50);
+        assertEquals(Collections.singletonList("changed 1"), mirror.events);
+        tasks.get(8).setDueDate(new DueDate(new Date(System.currentTimeMillis() + DAY)));
+        assertEquals(tasks.get(8), urgentWork.getTasks().get(0));
+        assertEquals(urgentWork.getTasks(), mirror.tasks);
+    }
+
+    @Test
+    public void testInPlaceChanges() {
+        tasks.get(0).getPriority().setUrgent(false);
+        assertFalse(urgentWork.contains(tasks.get(0)));
+        tasks.get(6).getPriority().setImportant(true);
+        assertEquals(tasks.get(6), urgentWork.getTasks().get(1));
+        tasks.get(1).addTag("view-work");
+        tasks.get(1).getPriority().setUrgent(true);
+        assertTrue(urgentWork.contains(tasks.get(1)));
+
+        long now = System.currentTimeMillis();
+        tasks.get(8).setDueDate(new DueDate(new Date(now + DAY)));
+        tasks.get(4).setDueDate(new DueDate(new Date(now + 2 * DAY)));
+        assertEquals(Arrays.asList(tasks.get(8), tasks.get(4)), urgentWork.getTasks().subList(0, 2));
+        tasks.get(8).getDueDate().postponeOneWeek();
+        assertEquals(Arrays.asList(tasks.get(4), tasks.get(8)), urgentWork.getTasks().subList(0, 2));
+        assertEquals(urgentWork.getQuery().select(new ArrayList<>(store)).size(), urgentWork.size());
+        assertEquals(urgentWork.getTasks(), mirror.tasks);
+    }
+
+    @Test
+    public void testStoreChanges() {
+        Task added = new Task("added");
+        added.setPriority(new Priority(1));
+        added.addTag("view-work");
+        store.add(added);
+        assertEquals(added, urgentWork.getTasks().get(5));
+        store.remove(tasks.get(0));
+        assertFalse(urgentWork.contains(tasks.get(0)));
+        store.set(store.indexOf(tasks.get(2)), tasks.get(0));
+        assertTrue(urgentWork.contains(tasks.get(0)));
+        assertFalse(urgentWork.contains(tasks.get(2)));
+        assertEquals(urgentWork.getTasks(), mirror.tasks);
+        store.clear();
+        assertEquals(0, urgentWork.size());
+        assertTrue(mirror.tasks.isEmpty());
+    }
+
+    @Test
+    public void testRemoveView() {
+        store.removeView(urgentWork);
+        tasks.get(1).setPriority(new Priority(3));
+        tasks.get(1).addTag("view-work");
+        assertFalse(urgentWork.contains(tasks.get(1)));
+        assertTrue(store.getViews().isEmpty());
+        urgentWork.removeListener(mirror);
+        urgentWork.refresh();
+        assertTrue(urgentWork.contains(tasks.get(1)));
+        assertEquals(10, mirror.tasks.size());
+    }
+
+    @Test
+    public void testMatchesQueryAfterRandomChanges() {
+        Random random = new Random(25);
+        SavedView inProgress = store.addView("in progress", status(Status.IN_PROGRESS).and(not(urgent())),
+                Comparator.comparing(Task::getDescription));
+        MirrorListener inProgressMirror = new MirrorListener(inProgress);
+        inProgress.addListener(inProgressMirror);
+        for (int i = 0; i < 2000; i++) {
+            Task task = tasks.get(random.nextInt(tasks.size()));
+            switch (random.nextInt(5)) {
+                case 0:
+                    task.setStatus(Status.values()[random.nextInt(4)]);
+                    break;
+                case 1:
+                    task.setPriority(new Priority(1 + random.nextInt(4)));
+                    break;
+                case 2:
+                    task.setDescription("task " + random.nextInt(100));
+                    break;
+                case 3:
+                    task.addTag("view-work");
+                    break;
+                default:
+                    task.removeTag("view-work");
+            }
+        }
+        for (SavedView view : Arrays.asList(urgentWork, inProgress)) {
+            List<Task> expected = view.getQuery().select(new ArrayList<>(store));
+            assertEquals(expected.size(), view.size());
+            assertTrue(view.getTasks().containsAll(expected));
+        }
+        assertEquals(urgentWork.getTasks(), mirror.tasks);
+        assertEquals(inProgress.getTasks(), inProgressMirror.tasks);
+        for (int i = 1; i < inProgress.size(); i++) {
+            assertTrue(inProgress.getTasks().get(i - 1).getDescription()
+                    .compareTo(inProgress.getTasks().get(i).getDescription()) <= 0);
+        }
+    }
+
+    // Keeps a copy of the tasks of a view from the changes it reports
+    private static class MirrorListener implements ViewListener {
+        private List<Task> tasks;
+        private List<String> events;
+
+        MirrorListener(SavedView view) {
+            tasks = new ArrayList<>(view.getTasks());
+            events = new ArrayList<>();
+        }
+
+        @Override
+        public void added(SavedView view, int index, Task task) {
+            tasks.add(index, task);
+            events.add("added " + index);
+        }
+
+        @Override
+        public void removed(SavedView view, int index, Task task) {
+            assertSame(task, tasks.remove(index));
+            events.add("removed " + index);
+        }
+
+        @Override
+        public void changed(SavedView view, int index, Task task) {
+            assertSame(task, tasks.get(index));
+            events.add("changed " + index);
+        }
+    }
+}
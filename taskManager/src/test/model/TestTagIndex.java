@@ -0,0 +1,88 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static model.TagQuery.not;
+import static model.TagQuery.tag;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTagIndex {
+    private TaskStore store;
+    private List<Task> tasks;
+
+    @BeforeEach
+    public void runBefore() {
+        store = new TaskStore();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Task task = new Task("task " + i);
+            if (i % 2 == 0) {
+                task.addTag("index-even");
+            }
+            if (i % 3 == 0) {
+                task.addTag("index-three");
+            }
+            tasks.add(task);
+        }
+        store.addAll(tasks);
+    }
+
+    @Test
+    public void testQueries() {
+        TagIndex index = store.getTagIndex();
+        assertEquals(100, index.size());
+        assertEquals(50, index.count(tag("index-even")));
+        assertEquals(17, index.count(tag("index-even").and(tag("index-three"))));
+        assertEquals(67, index.count(tag("index-even").or(tag("index-three"))));
+        assertEquals(33, index.count(tag("index-even").andNot(tag("index-three"))));
+        assertEquals(33, index.count(not(tag("index-even").or(tag("index-three")))));
+        assertEquals(0, index.count(tag("index-no-task-has-this")));
+        assertEquals(100, index.count(not(tag("index-no-task-has-this"))));
+        assertEquals(Arrays.asList(tasks.get(0), tasks.get(6), tasks.get(12)),
+                index.getTasks(tag("index-even").and(tag("index-three"))).subList(0, 3));
+    }
+
+    @Test
+    public void testMaintainedThroughTags() {
+        TagIndex index = store.getTagIndex();
+        tasks.get(1).addTag("index-even");
+        tasks.get(0).removeTag("index-even");
+        tasks.get(5).addTag("index-new");
+        assertEquals(50, index.count(tag("index-even")));
+        assertEquals(Arrays.asList(tasks.get(5)), index.getTasks(tag("index-new")));
+        List<Task> evenNotThree = index.getTasks(tag("index-even").andNot(tag("index-three")));
+        assertEquals(34, evenNotThree.size());
+        assertTrue(evenNotThree.contains(tasks.get(1)));
+        assertFalse(evenNotThree.contains(tasks.get(0)));
+        assertTrue(index.getTasks(not(tag("index-even"))).contains(tasks.get(0)));
+
+        tasks.get(5).setDescription("renamed ## index-new");
+        assertEquals(1, index.count(tag("index-new")));
+        tasks.get(5).removeTag("index-new");
+        assertEquals(0, index.count(tag("index-new")));
+    }
+
+    @Test
+    public void testRemovedTasks() {
+        TagIndex index = store.getTagIndex();
+        Task removed = store.remove(0);
+        assertEquals(49, index.count(tag("index-even")));
+        removed.addTag("index-new");
+        assertEquals(0, index.count(tag("index-new")));
+
+        Task added = new Task("added ## index-even");
+        store.add(added);
+        assertEquals(50, index.count(tag("index-even")));
+        assertTrue(index.getTasks(tag("index-even")).contains(added));
+        assertEquals(100, index.size());
+
+        store.clear();
+        assertEquals(0, index.count(tag("index-even")));
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,102 @@
+package model;
+
+import model.exceptions.EmptyStringException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTagRegistry {
+
+    @Test
+    public void testInternSameTag() {
+        Tag tag = TagRegistry.intern("registry-intern");
+        assertSame(tag, TagRegistry.intern("registry-intern"));
+        assertSame(tag, TagRegistry.lookup("registry-intern"));
+        assertEquals("registry-intern", tag.getName());
+        assertTrue(TagRegistry.getTags().contains(tag));
+    }
+
+    @Test
+    public void testLookupUnknown() {
+        assertNull(TagRegistry.lookup("registry-never-used"));
+        Task task = new Task("description");
+        assertFalse(task.containsTag("registry-never-used"));
+        task.removeTag("registry-never-used");
+        assertNull(TagRegistry.lookup("registry-never-used"));
+    }
+
+    @Test
+    public void testEmptyName() {
+        for (String name : new String[]{null, ""}) {
+            try {
+                TagRegistry.intern(name);
+                fail("Should have thrown EmptyStringException");
+            } catch (EmptyStringException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testTasksShareTag() {
+        Task first = new Task("Register for the course");
+        Task second = new Task("Read the syllabus");
+        first.addTag("registry-shared");
+        second.addTag("registry-shared");
+
+        Tag tag = TagRegistry.lookup("registry-shared");
+        assertSame(tag, first.getTags().iterator().next());
+        assertSame(tag, second.getTags().iterator().next());
+        assertEquals(2, tag.getTasks().size());
+        assertTrue(tag.containsTask(first));
+        assertTrue(tag.containsTask(second));
+
+        first.removeTag("registry-shared");
+        assertFalse(first.containsTag("registry-shared"));
+        assertEquals(Collections.singleton(second), tag.getTasks());
+        assertFalse(tag.containsTask(first));
+        assertTrue(tag.containsTask(second));
+        tag.addTask(first);
+        assertTrue(first.containsTag("registry-shared"));
+        assertEquals(2, tag.getTasks().size());
+
+        second.removeTag(new Tag("registry-shared"));
+        assertEquals(Collections.singleton(first), tag.getTasks());
+    }
+
+    @Test
+    public void testTagDoesNotKeepTasksReachable() throws InterruptedException {
+        Tag tag = TagRegistry.intern("registry-weak");
+        Task kept = new Task("kept");
+        kept.addTag(tag);
+        WeakReference<Task> dropped = new WeakReference<>(new Task("dropped ## registry-weak"));
+        for (int i = 0; i < 100 && dropped.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(dropped.get());
+        assertEquals(Collections.singleton(kept), tag.getTasks());
+    }
+
+    @Test
+    public void testEqualTasksIndexedSeparately() {
+        Task first = new Task("Same description");
+        Task second = new Task("Same description");
+        assertEquals(first, second);
+        first.addTag("registry-equal");
+        second.addTag("registry-equal");
+        assertEquals(2, TagRegistry.lookup("registry-equal").getTasks().size());
+
+        TaskStore store = new TaskStore(Arrays.asList(first, second));
+        assertEquals(2, store.getTagIndex().count(TagQuery.tag("registry-equal")));
+        first.setDescription("Changed description");
+        assertTrue(TagRegistry.lookup("registry-equal").containsTask(first));
+        store.remove(first);
+        assertEquals(Collections.singletonList(second),
+                store.getTagIndex().getTasks(TagQuery.tag("registry-equal")));
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Objects;
 
 import static model.Task.NO_DUE_DATE;
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,6 +62,80 @@ public class TestTask {
         assertEquals("DEFAULT", x);
     }
 
+    @Test
+    public void testRestore() {
+        Task restored = Task.restore("Some description ## tag1;today;urgent;in progress");
+        assertEquals("Some description ## tag1;today;urgent;in progress", restored.getDescription());
+        assertEquals(Status.TODO, restored.getStatus());
+        assertEquals(NO_DUE_DATE, restored.getDueDate());
+        assertEquals(0, restored.getTags().size());
+        assertEquals(new Priority(4), restored.getPriority());
+    }
+
+    @Test
+    public void testIds() {
+        assertTrue(t.getId() > 0);
+        assertNotEquals(t.getId(), toSetTask.getId());
+        long id = t.getId();
+        t.setDescription("edited ## urgent");
+        assertEquals(id, t.getId());
+    }
+
+    @Test
+    public void testRestoreId() {
+        Task restored = Task.restore(t.getId() + 1000, "restored");
+        assertEquals(t.getId() + 1000, restored.getId());
+        assertEquals("restored", restored.getDescription());
+        assertTrue(new Task("later").getId() > restored.getId());
+    }
+
+    @Test
+    public void testPriorityLevel() {
+        for (int level = 1; level <= 4; level++) {
+            assertEquals(level, Todo.priorityLevel(new Priority(level)));
+        }
+    }
+
+    @Test
+    public void testCopy() {
+        t.setDescription("copied ## copy-tag;tomorrow;important;in progress");
+        t.setProgress(40);
+        t.setEstimatedTimeToComplete(3);
+        Task copy = t.copy();
+        assertNotSame(t, copy);
+        assertEquals(t.getId(), copy.getId());
+        assertEquals(t, copy);
+        assertEquals(40, copy.getProgress());
+        assertEquals(3, copy.getEstimatedTimeToComplete());
+        assertTrue(copy.containsTag("copy-tag"));
+
+        t.getPriority().setUrgent(true);
+        t.getDueDate().postponeOneDay();
+        t.removeTag("copy-tag");
+        t.setStatus(Status.DONE);
+        assertFalse(copy.getPriority().isUrgent());
+        assertTrue(copy.getDueDate().isDueTomorrow());
+        assertTrue(copy.containsTag("copy-tag"));
+        assertEquals(Status.IN_PROGRESS, copy.getStatus());
+    }
+
+    @Test
+    public void testHashCode() {
+        assertEquals(Objects.hash(t.getDescription(), t.getDueDate(), t.getPriority(), t.getStatus()),
+                t.hashCode());
+        assertEquals(new Task("description").hashCode(), t.hashCode());
+    }
+
+    @Test
+    public void testRestoreEmptyDescription() {
+        try {
+            Task.restore("");
+            fail("Should have had caught an exception!");
+        } catch (EmptyStringException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testUnemptyDescription() {
         try {
@@ -0,0 +1,176 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskStore {
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private TaskStore store;
+    private Task first;
+    private Task second;
+    private Task third;
+    private Date now;
+
+    @BeforeEach
+    public void runBefore() {
+        now = new Date();
+        first = new Task("first");
+        first.setStatus(Status.IN_PROGRESS);
+        first.setPriority(new Priority(1));
+        first.setDueDate(new DueDate(new Date(now.getTime() + HOUR)));
+        second = new Task("second");
+        second.setPriority(new Priority(3));
+        second.setDueDate(new DueDate(new Date(now.getTime() + 2 * HOUR)));
+        third = new Task("third");
+        store = new TaskStore(Arrays.asList(first, second, third));
+    }
+
+    @Test
+    public void testStoresOfSameTasks() {
+        TaskStore other = new TaskStore(Arrays.asList(first, second, third));
+        assertEquals(store, other);
+        other.clear();
+        first.setStatus(Status.DONE);
+        assertTrue(store.getTasks(Status.DONE).contains(first));
+        assertTrue(other.getTasks(Status.DONE).isEmpty());
+        other.add(second);
+        store.remove(second);
+        second.setStatus(Status.UP_NEXT);
+        assertTrue(other.getTasks(Status.UP_NEXT).contains(second));
+        assertFalse(store.getTasks(Status.UP_NEXT).contains(second));
+    }
+
+    @Test
+    public void testConstructor() {
+        assertEquals(3, store.size());
+        assertSame(second, store.get(1));
+        assertEquals(Arrays.asList(first), new ArrayList<>(store.getTasks(Status.IN_PROGRESS)));
+        assertEquals(Arrays.asList(second, third), new ArrayList<>(store.getTasks(Status.TODO)));
+        assertTrue(store.getTasks(Status.DONE).isEmpty());
+        assertEquals(Arrays.asList(first), new ArrayList<>(store.getTasks(new Priority(1))));
+        assertEquals(Arrays.asList(second), new ArrayList<>(store.getTasks(new Priority(3))));
+        assertEquals(Arrays.asList(third), new ArrayList<>(store.getTasks(new Priority(4))));
+    }
+
+    @Test
+    public void testTasksDue() {
+        Collection<Task> due = store.getTasksDue(now, new Date(now.getTime() + 3 * HOUR));
+        assertEquals(2, due.size());
+        assertEquals(Arrays.asList(first, second), new ArrayList<>(due));
+        assertEquals(Arrays.asList(first), new ArrayList<>(store.getTasksDueBefore(
+                new Date(now.getTime() + 3 * HOUR / 2))));
+        assertTrue(store.getTasksDueBefore(now).isEmpty());
+    }
+
+    @Test
+    public void testIndexesFollowTaskChanges() {
+        second.setStatus(Status.DONE);
+        second.setPriority(new Priority(1));
+        second.setDueDate(new DueDate(new Date(now.getTime() - HOUR)));
+
+        assertEquals(Arrays.asList(second), new ArrayList<>(store.getTasks(Status.DONE)));
+        assertEquals(Arrays.asList(third), new ArrayList<>(store.getTasks(Status.TODO)));
+        assertEquals(Arrays.asList(first, second), new ArrayList<>(store.getTasks(new Priority(1))));
+        assertTrue(store.getTasks(new Priority(3)).isEmpty());
+        assertEquals(Arrays.asList(second), new ArrayList<>(store.getTasksDueBefore(now)));
+
+        third.setDescription("third ## important; up next");
+        assertEquals(Arrays.asList(third), new ArrayList<>(store.getTasks(Status.UP_NEXT)));
+        assertEquals(Arrays.asList(third), new ArrayList<>(store.getTasks(new Priority(2))));
+    }
+
+    @Test
+    public void testIndexesFollowInPlaceChanges() {
+        third.getPriority().setUrgent(true);
+        assertEquals(Arrays.asList(second, third), new ArrayList<>(store.getTasks(new Priority(3))));
+        assertTrue(store.getTasks(new Priority(4)).isEmpty());
+
+        first.getDueDate().postponeOneDay();
+        Collection<Task> due = store.getTasksDue(now, new Date(now.getTime() + 3 * HOUR));
+        assertEquals(Arrays.asList(second), new ArrayList<>(due));
+
+        Priority priority = new Priority(4);
+        second.setPriority(priority);
+        priority.setImportant(true);
+        assertFalse(second.getPriority().isImportant());
+        assertEquals(Arrays.asList(second), new ArrayList<>(store.getTasks(new Priority(4))));
+    }
+
+    @Test
+    public void testRemoveAndSet() {
+        store.remove(0);
+        assertTrue(store.getTasks(Status.IN_PROGRESS).isEmpty());
+        first.setStatus(Status.DONE);
+        assertTrue(store.getTasks(Status.DONE).isEmpty());
+
+        Task replacement = new Task("replacement");
+        replacement.setStatus(Status.UP_NEXT);
+        assertSame(second, store.set(0, replacement));
+        assertEquals(Arrays.asList(replacement), new ArrayList<>(store.getTasks(Status.UP_NEXT)));
+        assertEquals(Arrays.asList(third), new ArrayList<>(store.getTasks(Status.TODO)));
+        assertTrue(store.getTasksDue(now, new Date(now.getTime() + 3 * HOUR)).isEmpty());
+    }
+
+    @Test
+    public void testGetById() {
+        assertSame(second, store.getById(second.getId()));
+        Task replacement = new Task("replacement");
+        store.set(1, replacement);
+        assertNull(store.getById(second.getId()));
+        assertSame(replacement, store.getById(replacement.getId()));
+        store.remove(first);
+        assertNull(store.getById(first.getId()));
+        store.clear();
+        assertNull(store.getById(third.getId()));
+    }
+
+    @Test
+    public void testAddTwice() {
+        try {
+            store.add(first);
+            fail("Should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(3, store.size());
+        store.add(new Task("first"));
+        assertEquals(3, store.getTasks(Status.TODO).size());
+    }
+
+    @Test
+    public void testClear() {
+        store.clear();
+        assertTrue(store.isEmpty());
+        assertTrue(store.getTasks(Status.TODO).isEmpty());
+        third.setStatus(Status.DONE);
+        assertTrue(store.getTasks(Status.DONE).isEmpty());
+    }
+
+    @Test
+    public void testObservers() {
+        List<TaskField> fields = new ArrayList<>();
+        List<Object> previous = new ArrayList<>();
+        TaskObserver observer = (task, field, value) -> {
+            fields.add(field);
+            previous.add(value);
+        };
+        third.addObserver(observer);
+        third.setStatus(Status.DONE);
+        third.setProgress(50);
+        third.setEstimatedTimeToComplete(3);
+        third.removeObserver(observer);
+        third.setStatus(Status.TODO);
+
+        assertEquals(Arrays.asList(TaskField.STATUS, TaskField.PROGRESS, TaskField.ESTIMATED_TIME), fields);
+        assertEquals(Arrays.asList(Status.TODO, 0, 0), previous);
+    }
+}
@@ -0,0 +1,120 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskTable {
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private List<Task> tasks;
+    private Date now;
+
+    @BeforeEach
+    public void runBefore() {
+        tasks = new ArrayList<>();
+        now = new Date();
+        for (int i = 0; i < 200; i++) {
+            Task task = new Task("task " + i);
+            task.setStatus(Status.values()[i % 4]);
+            task.setPriority(new Priority(1 + i % 4));
+            task.setProgress(i % 101);
+            task.setEstimatedTimeToComplete(i % 7);
+            if (i % 2 == 0) {
+                Calendar due = Calendar.getInstance();
+                due.setTimeInMillis(now.getTime() + (i - 100) * HOUR);
+                task.setDueDate(new DueDate(due.getTime()));
+            }
+            if (i % 5 == 0) {
+                task.addTag("table-five");
+            }
+            if (i % 3 == 0) {
+                task.addTag("table-three");
+            }
+            tasks.add(task);
+        }
+    }
+
+    @Test
+    public void testSelectAll() {
+        TaskTable table = new TaskTable(tasks);
+        assertEquals(200, table.size());
+        assertSame(tasks.get(7), table.getTask(7));
+        assertEquals(200, table.select().count());
+        assertEquals(tasks, table.select().getTasks());
+        assertEquals(sumHours(tasks), table.select().sumEstimatedTimeToComplete());
+        assertEquals(sumProgress(tasks) / 200, table.select().averageProgress());
+    }
+
+    @Test
+    public void testFilters() {
+        TaskTable table = new TaskTable(tasks);
+        List<Task> expected = new ArrayList<>();
+        for (Task t : tasks) {
+            if (t.getStatus() == Status.DONE && t.containsTag("table-five") && t.getProgress() >= 20) {
+                expected.add(t);
+            }
+        }
+        TaskTable.Selection selection = table.select().withStatus(Status.DONE).withTag("table-five")
+                .withProgressBetween(20, 100);
+        assertEquals(expected, selection.getTasks());
+        assertEquals(sumHours(expected), selection.sumEstimatedTimeToComplete());
+        assertEquals(expected.size(), selection.getRows().length);
+
+        assertEquals(50, table.select().withPriority(new Priority(2)).count());
+        assertEquals(100, table.select().withPriorityLevel(1, 2).count());
+        assertEquals(100, table.select().withDueDate().count());
+        assertEquals(50, table.select().dueBefore(new Date(now.getTime() - HOUR / 2)).count());
+        assertEquals(Arrays.asList(tasks.get(100), tasks.get(102)),
+                table.select().dueBetween(new Date(now.getTime() - 60000), new Date(now.getTime() + 3 * HOUR))
+                        .getTasks());
+        assertEquals(14, table.select().withTag("table-five").withTag("table-three").count());
+        assertEquals(0, table.select().withTag("no such tag in the table").count());
+    }
+
+    @Test
+    public void testCountByStatus() {
+        Map<Status, Integer> byStatus = new TaskTable(tasks).select().withTag("table-three").countByStatus();
+        assertEquals(Integer.valueOf(17), byStatus.get(Status.TODO));
+        assertEquals(Integer.valueOf(16), byStatus.get(Status.UP_NEXT));
+        assertEquals(Integer.valueOf(17), byStatus.get(Status.IN_PROGRESS));
+        assertEquals(Integer.valueOf(17), byStatus.get(Status.DONE));
+    }
+
+    @Test
+    public void testEmptyTableAndSnapshot() {
+        TaskTable empty = new TaskTable(Collections.emptyList());
+        assertEquals(0, empty.select().count());
+        assertEquals(0, empty.select().averageProgress());
+        assertEquals(0, empty.select().getRows().length);
+
+        TaskTable table = new TaskTable(tasks);
+        tasks.get(0).setStatus(Status.IN_PROGRESS);
+        assertSame(tasks.get(0), table.select().withStatus(Status.TODO).getTasks().get(0));
+    }
+
+    private static long sumHours(List<Task> tasks) {
+        long sum = 0;
+        for (Task t : tasks) {
+            sum += t.getEstimatedTimeToComplete();
+        }
+        return sum;
+    }
+
+    private static long sumProgress(List<Task> tasks) {
+        long sum = 0;
+        for (Task t : tasks) {
+            sum += t.getProgress();
+        }
+        return sum;
+    }
+}
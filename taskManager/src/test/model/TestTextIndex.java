@@ -0,0 +1,79 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTextIndex {
+    private TaskStore store;
+    private TextIndex index;
+    private Task milk;
+    private Task bread;
+    private Task urgentMilk;
+    private Task dueMilk;
+
+    @BeforeEach
+    public void runBefore() {
+        store = new TaskStore();
+        index = store.getTextIndex();
+        milk = new Task("Buy milk");
+        bread = new Task("buy bread, and MILKSHAKE mix");
+        urgentMilk = new Task("milk the cows ## urgent");
+        dueMilk = new Task("return milk bottles");
+        Calendar due = Calendar.getInstance();
+        due.add(Calendar.DATE, 3);
+        dueMilk.setDueDate(new DueDate(due.getTime()));
+        store.addAll(Arrays.asList(milk, bread, urgentMilk, dueMilk));
+    }
+
+    @Test
+    public void testTokenize() {
+        assertEquals(Arrays.asList("buy", "milk", "2", "litres"), TextIndex.tokenize("Buy milk (2 litres), milk!"));
+        assertTrue(TextIndex.tokenize(" ,; ").isEmpty());
+    }
+
+    @Test
+    public void testSearchRanked() {
+        assertEquals(Arrays.asList(urgentMilk, dueMilk, milk), index.search("milk", 10));
+        assertEquals(Arrays.asList(urgentMilk, dueMilk), index.search("MILK", 2));
+        assertEquals(Collections.singletonList(milk), index.search("buy milk", 10));
+        assertEquals(Collections.singletonList(urgentMilk), index.search("cows milk", 10));
+        assertTrue(index.search("milk bread", 10).isEmpty());
+        assertTrue(index.search("urgent", 10).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    @Test
+    public void testSearchPrefix() {
+        assertEquals(Arrays.asList(urgentMilk, dueMilk, milk, bread), index.searchPrefix("mil", 10));
+        assertEquals(Arrays.asList(milk, bread), index.searchPrefix("buy m", 10));
+        assertEquals(Collections.singletonList(bread), index.searchPrefix("buy milks", 10));
+        assertEquals(Collections.singletonList(bread), index.searchPrefix("br", 10));
+        assertTrue(index.searchPrefix("x", 10).isEmpty());
+    }
+
+    @Test
+    public void testUpdates() {
+        milk.setDescription("buy oat drink");
+        assertEquals(Arrays.asList(urgentMilk, dueMilk), index.search("milk", 10));
+        assertEquals(Collections.singletonList(milk), index.search("oat", 10));
+
+        bread.setPriority(new Priority(1));
+        assertEquals(Arrays.asList(bread, urgentMilk, dueMilk), index.searchPrefix("mil", 10));
+        urgentMilk.setDueDate(null);
+        urgentMilk.setPriority(new Priority(4));
+        assertEquals(Arrays.asList(bread, dueMilk, urgentMilk), index.searchPrefix("mil", 10));
+
+        store.remove(dueMilk);
+        assertEquals(Arrays.asList(bread, urgentMilk), index.searchPrefix("mil", 10));
+        dueMilk.setDescription("milk");
+        assertEquals(Collections.singletonList(urgentMilk), index.search("milk", 10));
+        store.clear();
+        assertTrue(index.searchPrefix("b", 10).isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+package parsers;
+
+import model.DueDate;
+import model.Priority;
+import model.Status;
+import model.Task;
+import model.TaskQuery;
+import model.TaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import parsers.exceptions.ParsingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestQueryParser {
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private QueryParser parser;
+    private TaskStore store;
+
+    @BeforeEach
+    public void runBefore() {
+        parser = new QueryParser();
+        store = new TaskStore();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 120; i++) {
+            Task task = new Task("task " + i);
+            task.setStatus(Status.values()[i % 4]);
+            task.setPriority(new Priority(1 + (i / 4) % 4));
+            task.setProgress(i % 101);
+            task.setEstimatedTimeToComplete(i % 9);
+            if (i % 3 != 0) {
+                task.setDueDate(new DueDate(new Date(now + (i % 20 - 5) * 24 * HOUR + HOUR / 2)));
+            }
+            if (i % 2 == 0) {
+                task.addTag("query-work");
+            }
+            if (i % 5 == 0) {
+                task.addTag("query-home");
+            }
+            store.add(task);
+        }
+    }
+
+    @Test
+    public void testTerms() throws ParsingException {
+        assertEquals(60, select("#query-work").size());
+        assertEquals(64, select("important").size());
+        assertEquals(60, select("URGENT").size());
+        assertEquals(30, select("status:in_progress").size());
+        assertEquals(30, select("status=UP-NEXT").size());
+        assertEquals(40, select("due:none").size());
+        assertEquals(20, select("overdue").size());
+        assertEquals(2, select("progress>=99").size());
+        assertEquals(14, select("etcHours=0").size());
+        assertEquals(42, select("etchours<3").size());
+    }
+
+    @Test
+    public void testMatchesScan() throws ParsingException {
+        List<String> queries = Arrays.asList(
+                "#query-work & urgent & status:IN_PROGRESS & due<7d",
+                "#query-work & #query-home",
+                "#query-work & !#query-home | status:DONE",
+                "!(important | urgent) & due>=-2d & due<=2d",
+                "(status:TODO | status:DONE) & progress>10 & progress<=80",
+                "due>1w | #query-home & etcHours>4",
+                "important & (#query-home | overdue)");
+        for (String text : queries) {
+            TaskQuery query = parser.parse(text);
+            assertEquals(sorted(query.select(new ArrayList<>(store))), sorted(query.select(store)), text);
+        }
+        TaskQuery query = parser.parse("#query-work & urgent & status:IN_PROGRESS & due<7d");
+        for (Task t : query.select(store)) {
+            assertTrue(t.containsTag("query-work") && t.getPriority().isUrgent());
+            assertTrue(t.getStatus() == Status.IN_PROGRESS && t.getDueDate() != null);
+            assertTrue(t.getDueDate().getDate().getTime() < System.currentTimeMillis() + 7 * 24 * HOUR);
+        }
+        assertFalse(query.select(store).isEmpty());
+    }
+
+    @Test
+    public void testQueryIsReusable() throws ParsingException {
+        TaskQuery query = parser.parse("#query-home & #query-work & status:UP_NEXT");
+        assertTrue(query.select(store).isEmpty());
+        Task task = store.get(10);
+        task.setStatus(Status.UP_NEXT);
+        assertEquals(Collections.singletonList(task), query.select(store));
+        assertTrue(query.test(task));
+        task.removeTag("query-home");
+        assertTrue(query.select(store).isEmpty());
+        assertFalse(query.test(task));
+    }
+
+    @Test
+    public void testMalformedQueries() {
+        for (String text : Arrays.asList("", "#", "important &", "(urgent", "urgent)", "soon", "status:LATER",
+                "status<DONE", "due<7", "due:7d", "progress>half", "colour:red", "& urgent",
+                "progress>2147483647", "etcHours<-2147483648", "progress>=2147483648")) {
+            try {
+                parser.parse(text);
+                fail("should have thrown ParsingException: " + text);
+            } catch (ParsingException e) {
+                // expected
+            }
+        }
+    }
+
+    private List<Task> select(String text) throws ParsingException {
+        return parser.parse(text).select(store);
+    }
+
+    private static List<Task> sorted(List<Task> tasks) {
+        List<Task> sorted = new ArrayList<>(tasks);
+        sorted.sort(Comparator.comparingLong(Task::getId));
+        return sorted;
+    }
+}
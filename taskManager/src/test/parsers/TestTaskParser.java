@@ -0,0 +1,238 @@
+package parsers;
+
+import model.Status;
+import model.Task;
+import org.json.JSONException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import persistence.Jsonifier;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskParser {
+    private static final String GOOD_TASK = "{\"description\":\"Register for the course\","
+            + "\"tags\":[{\"name\":\"cpsc210\"}],"
+            + "\"due-date\":{\"minute\":59,\"hour\":23,\"day\":16,\"month\":1,\"year\":2019},"
+            + "\"priority\":{\"important\":true,\"urgent\":false},"
+            + "\"status\":\"IN_PROGRESS\"}";
+    private static final String NO_DUE_DATE_TASK = "{\"description\":\"Read the syllabus\","
+            + "\"tags\":[],\"due-date\":null,"
+            + "\"priority\":{\"important\":false,\"urgent\":true},"
+            + "\"status\":\"DONE\"}";
+    private static final String BAD_TASK = "{\"description\":\"No status\","
+            + "\"tags\":[],\"due-date\":null,"
+            + "\"priority\":{\"important\":false,\"urgent\":true}}";
+
+    private TaskParser parser;
+
+    @BeforeEach
+    public void runBefore() {
+        parser = new TaskParser();
+    }
+
+    @Test
+    public void testParseString() {
+        List<Task> tasks = parser.parse("[" + GOOD_TASK + "," + BAD_TASK + "," + NO_DUE_DATE_TASK + "]");
+        assertEquals(2, tasks.size());
+        assertEquals("Register for the course", tasks.get(0).getDescription());
+        assertEquals("Read the syllabus", tasks.get(1).getDescription());
+    }
+
+    @Test
+    public void testParseReader() {
+        List<Task> tasks = drain(parser.parse(new StringReader(
+                "[ " + GOOD_TASK + " ,\n" + BAD_TASK + ",\t" + NO_DUE_DATE_TASK + " ]")));
+        assertEquals(2, tasks.size());
+
+        Task first = tasks.get(0);
+        assertEquals("Register for the course", first.getDescription());
+        assertTrue(first.containsTag("cpsc210"));
+        assertTrue(first.getPriority().isImportant());
+        assertFalse(first.getPriority().isUrgent());
+        assertEquals(Status.IN_PROGRESS, first.getStatus());
+        assertNotNull(first.getDueDate());
+
+        Task second = tasks.get(1);
+        assertEquals(Status.DONE, second.getStatus());
+        assertNull(second.getDueDate());
+    }
+
+    @Test
+    public void testParseReaderSameAsString() {
+        String input = "[" + GOOD_TASK + "," + NO_DUE_DATE_TASK + ",42," + GOOD_TASK + "]";
+        assertEquals(parser.parse(input), drain(parser.parse(new StringReader(input))));
+    }
+
+    @Test
+    public void testParseReaderEmptyArray() {
+        Iterator<Task> tasks = parser.parse(new StringReader(" [ ] "));
+        assertFalse(tasks.hasNext());
+        try {
+            tasks.next();
+            fail("Should have thrown NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testParseReaderOnlyMalformed() {
+        assertFalse(parser.parse(new StringReader("[" + BAD_TASK + ",\"text\"]")).hasNext());
+    }
+
+    @Test
+    public void testParseReaderNotAnArray() {
+        try {
+            parser.parse(new StringReader(GOOD_TASK));
+            fail("Should have thrown JSONException");
+        } catch (JSONException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testParseReaderMissingSeparator() {
+        Iterator<Task> tasks = parser.parse(new StringReader("[" + GOOD_TASK + " " + GOOD_TASK + "]"));
+        try {
+            tasks.hasNext();
+            fail("Should have thrown JSONException");
+        } catch (JSONException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testParseKeepsId() {
+        Task task = new Task("Register for the course");
+        String input = "[" + Jsonifier.taskToJson(task) + "," + GOOD_TASK + "]";
+        List<Task> tasks = parser.parse(input);
+        assertEquals(task.getId(), tasks.get(0).getId());
+        assertTrue(tasks.get(1).getId() > task.getId());
+        assertTrue(new Task("Later task").getId() > tasks.get(1).getId());
+    }
+
+    @Test
+    public void testParseInvalidId() {
+        String input = "[" + GOOD_TASK.replace("{\"description\"", "{\"id\":0,\"description\"") + ","
+                + GOOD_TASK.replace("{\"description\"", "{\"id\":\"seven\",\"description\"") + "]";
+        assertTrue(parser.parse(input).isEmpty());
+        ParseResult result = parser.parseValidated(new StringReader(input));
+        assertEquals(2, result.getNumRejected(ParseResult.Rejection.INVALID_ID));
+    }
+
+    @Test
+    public void testParseValidated() {
+        ParseResult result = parser.parseValidated(new StringReader(
+                "[" + GOOD_TASK + "," + BAD_TASK + ",42," + NO_DUE_DATE_TASK + "]"));
+        assertEquals(2, result.getTasks().size());
+        assertEquals("Register for the course", result.getTasks().get(0).getDescription());
+        assertEquals("Read the syllabus", result.getTasks().get(1).getDescription());
+        assertEquals(2, result.getNumRejected());
+        assertEquals(1, result.getNumRejected(ParseResult.Rejection.INVALID_STATUS));
+        assertEquals(1, result.getNumRejected(ParseResult.Rejection.NOT_AN_OBJECT));
+        assertEquals(2, result.getRejections().size());
+    }
+
+    @Test
+    public void testParseValidatedSameAsParse() {
+        String input = "[" + GOOD_TASK + "," + NO_DUE_DATE_TASK + "," + BAD_TASK + "," + GOOD_TASK + "]";
+        assertEquals(parser.parse(input), parser.parseValidated(new StringReader(input)).getTasks());
+    }
+
+    @Test
+    public void testParseValidatedNumericStrings() {
+        String input = "["
+                + GOOD_TASK.replace("{\"description\"", "{\"id\":\"9001\",\"description\"")
+                        .replace("\"minute\":59", "\"minute\":\"59\"") + ","
+                + GOOD_TASK.replace("{\"description\"", "{\"id\":9002.0,\"description\"") + ","
+                + GOOD_TASK.replace("\"due-date\":{", "\"due-date\":{\"due-epoch\":\"25000000\",") + ","
+                + GOOD_TASK.replace("\"minute\":59", "\"minute\":\"59.5\"") + ","
+                + GOOD_TASK.replace("{\"description\"", "{\"id\":\"-1\",\"description\"") + "]";
+        List<Task> parsed = parser.parse(input);
+        assertEquals(3, parsed.size());
+        assertEquals(9001, parsed.get(0).getId());
+        assertEquals(9002, parsed.get(1).getId());
+        ParseResult result = parser.parseValidated(new StringReader(input));
+        assertEquals(parsed, result.getTasks());
+        assertEquals(1, result.getNumRejected(ParseResult.Rejection.INVALID_DUE_DATE));
+        assertEquals(1, result.getNumRejected(ParseResult.Rejection.INVALID_ID));
+    }
+
+    @Test
+    public void testParseValidatedRejectionReasons() {
+        ParseResult result = parser.parseValidated(new StringReader("["
+                + "{\"description\":\"\",\"tags\":[],\"due-date\":null,"
+                + "\"priority\":{\"important\":true,\"urgent\":true},\"status\":\"TODO\"},"
+                + "{\"description\":\"a\",\"tags\":[{\"name\":3}],\"due-date\":null,"
+                + "\"priority\":{\"important\":true,\"urgent\":true},\"status\":\"TODO\"},"
+                + "{\"description\":\"a\",\"tags\":[],\"due-date\":{\"day\":1},"
+                + "\"priority\":{\"important\":true,\"urgent\":true},\"status\":\"TODO\"},"
+                + "{\"description\":\"a\",\"tags\":[],\"due-date\":null,"
+                + "\"priority\":{\"important\":\"yes\",\"urgent\":true},\"status\":\"TODO\"},"
+                + "{\"description\":\"a\",\"tags\":[],\"due-date\":{\"due-epoch\":0},"
+                + "\"priority\":{\"important\":\"TRUE\",\"urgent\":false},\"status\":\"LATER\"},"
+                + "{\"description\":\"a\",\"tags\":[],\"due-date\":{\"due-epoch\":0},"
+                + "\"priority\":{\"important\":\"TRUE\",\"urgent\":false},\"status\":\"TODO\"}]"));
+        assertEquals(1, result.getTasks().size());
+        assertTrue(result.getTasks().get(0).getPriority().isImportant());
+        assertEquals(5, result.getNumRejected());
+        for (ParseResult.Rejection reason : new ParseResult.Rejection[]{ParseResult.Rejection.MISSING_DESCRIPTION,
+                ParseResult.Rejection.INVALID_TAGS, ParseResult.Rejection.INVALID_DUE_DATE,
+                ParseResult.Rejection.INVALID_PRIORITY, ParseResult.Rejection.INVALID_STATUS}) {
+            assertEquals(1, result.getNumRejected(reason));
+        }
+        assertEquals(0, result.getNumRejected(ParseResult.Rejection.UNEXPECTED));
+    }
+
+    @Test
+    public void testParseParallelSameAsParse() {
+        String tricky = "{\"description\":\"Brackets ], braces }, commas , and \\\"quotes\\\"\","
+                + "\"tags\":[{\"name\":\"[a,b]\"}],\"due-date\":null,"
+                + "\"priority\":{\"important\":true,\"urgent\":true},\"status\":\"TODO\"}";
+        StringBuilder input = new StringBuilder("[");
+        for (int i = 0; i < 3 * ParallelTaskParser.RECORDS_PER_TASK; i++) {
+            input.append(i == 0 ? "" : ",").append(i % 5 == 0 ? BAD_TASK : i % 3 == 0 ? tricky : GOOD_TASK);
+        }
+        input.append(" ]\n");
+
+        List<Task> tasks = parser.parseParallel(input.toString(), new ForkJoinPool(4));
+        assertEquals(parser.parse(input.toString()), tasks);
+        assertEquals(3 * ParallelTaskParser.RECORDS_PER_TASK * 4 / 5, tasks.size());
+        assertEquals("Brackets ], braces }, commas , and \"quotes\"", tasks.get(2).getDescription());
+        assertTrue(tasks.get(2).containsTag("[a,b]"));
+    }
+
+    @Test
+    public void testParseParallelEmptyArray() {
+        assertTrue(parser.parseParallel(" [ ] ").isEmpty());
+        assertEquals(1, parser.parseParallel("[" + GOOD_TASK + "]").size());
+    }
+
+    @Test
+    public void testParseParallelNotAnArray() {
+        for (String input : new String[]{GOOD_TASK, "[" + GOOD_TASK, "[\"unterminated]", "[1] 2", "[1}",
+                "[" + GOOD_TASK + "}", "[[1}, 2]", "[{\"a\": [1}]]"}) {
+            try {
+                parser.parseParallel(input);
+                fail("Should have thrown JSONException");
+            } catch (JSONException e) {
+                // expected
+            }
+        }
+    }
+
+    private List<Task> drain(Iterator<Task> iterator) {
+        List<Task> tasks = new ArrayList<>();
+        while (iterator.hasNext()) {
+            tasks.add(iterator.next());
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,102 @@
+package persistence;
+
+import model.DueDate;
+import model.Priority;
+import model.Status;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import parsers.BinaryTaskParser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBinaryTaskWriter {
+    private List<Task> tasks;
+
+    @BeforeEach
+    public void runBefore() {
+        Calendar cal = Calendar.getInstance();
+        cal.set(1969, Calendar.JULY, 20, 20, 17);
+
+        tasks = new ArrayList<>();
+        Task first = new Task("Register for the course ## cpsc210; important; urgent; in progress");
+        first.setDueDate(new DueDate());
+        first.setProgress(40);
+        first.setEstimatedTimeToComplete(300);
+        Task second = new Task("Land on the moon ## apollo; cpsc210");
+        second.setDueDate(new DueDate(cal.getTime()));
+        second.setStatus(Status.DONE);
+        second.setPriority(new Priority(3));
+        tasks.add(first);
+        tasks.add(second);
+        tasks.add(new Task("Ünïcödé description"));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<Task> parsed = new BinaryTaskParser().parse(new ByteArrayInputStream(encode(tasks)));
+        assertEquals(tasks, parsed);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).getTags(), parsed.get(i).getTags());
+            assertEquals(tasks.get(i).getId(), parsed.get(i).getId());
+            assertEquals(tasks.get(i).getProgress(), parsed.get(i).getProgress());
+            assertEquals(tasks.get(i).getEstimatedTimeToComplete(), parsed.get(i).getEstimatedTimeToComplete());
+        }
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        assertTrue(new BinaryTaskParser().parse(new ByteArrayInputStream(encode(new ArrayList<>()))).isEmpty());
+    }
+
+    @Test
+    public void testHeader() throws IOException {
+        byte[] bytes = encode(tasks);
+        assertTrue(BinaryTaskParser.isBinaryFormat(bytes));
+        assertEquals(BinaryTaskWriter.VERSION, bytes[BinaryTaskWriter.MAGIC.length]);
+        assertFalse(BinaryTaskParser.isBinaryFormat("[{}]".getBytes()));
+        assertFalse(BinaryTaskParser.isBinaryFormat(new byte[0]));
+    }
+
+    @Test
+    public void testSmallerThanJson() throws IOException {
+        assertTrue(encode(tasks).length * 3 < Jsonifier.taskListToJson(tasks).toString().length());
+    }
+
+    @Test
+    public void testUnsupportedVersion() throws IOException {
+        byte[] bytes = encode(tasks);
+        bytes[BinaryTaskWriter.MAGIC.length] = BinaryTaskWriter.VERSION + 1;
+        try {
+            new BinaryTaskParser().parse(new ByteArrayInputStream(bytes));
+            fail("Should have thrown IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        byte[] bytes = encode(tasks);
+        try {
+            new BinaryTaskParser().parse(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 3)));
+            fail("Should have thrown IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private byte[] encode(List<Task> tasks) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BinaryTaskWriter(output).write(tasks);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,68 @@
+package persistence;
+
+import model.DueDate;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Calendar;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDueDateCodec {
+    private Calendar cal;
+    private DueDate dueDate;
+
+    @BeforeEach
+    public void runBefore() {
+        cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(2019, Calendar.FEBRUARY, 16, 23, 59);
+        dueDate = new DueDate(cal.getTime());
+    }
+
+    @Test
+    public void testEpochMinuteRoundTrip() {
+        long epochMinute = DueDateCodec.toEpochMinute(dueDate);
+        assertEquals(cal.getTimeInMillis() / 60000, epochMinute);
+        assertEquals(dueDate, DueDateCodec.fromEpochMinute(epochMinute));
+    }
+
+    @Test
+    public void testToJson() {
+        JSONObject dueDateJson = DueDateCodec.toJson(dueDate);
+        assertEquals(59, dueDateJson.getInt("minute"));
+        assertEquals(23, dueDateJson.getInt("hour"));
+        assertEquals(16, dueDateJson.getInt("day"));
+        assertEquals(Calendar.FEBRUARY, dueDateJson.getInt("month"));
+        assertEquals(2019, dueDateJson.getInt("year"));
+        assertEquals(DueDateCodec.toEpochMinute(dueDate), dueDateJson.getLong(DueDateCodec.EPOCH_KEY));
+    }
+
+    @Test
+    public void testToJsonNull() {
+        assertNull(DueDateCodec.toJson(null));
+    }
+
+    @Test
+    public void testFromJsonLocalFieldsOnly() {
+        JSONObject dueDateJson = new JSONObject("{\"minute\":59,\"hour\":23,\"day\":16,\"month\":1,\"year\":2019}");
+        DueDate parsed = DueDateCodec.fromJson(dueDateJson);
+        assertEquals(DueDateCodec.toEpochMinute(dueDate), DueDateCodec.toEpochMinute(parsed));
+    }
+
+    @Test
+    public void testFromJsonPrefersEpoch() {
+        JSONObject dueDateJson = DueDateCodec.toJson(dueDate);
+        dueDateJson.put("year", 1999);
+        assertEquals(dueDate, DueDateCodec.fromJson(dueDateJson));
+    }
+
+    @Test
+    public void testFromJsonRollsOver() {
+        JSONObject dueDateJson = new JSONObject("{\"minute\":0,\"hour\":0,\"day\":31,\"month\":1,\"year\":2019}");
+        cal.clear();
+        cal.set(2019, Calendar.FEBRUARY, 31, 0, 0);
+        assertEquals(cal.getTimeInMillis() / 60000, DueDateCodec.toEpochMinute(DueDateCodec.fromJson(dueDateJson)));
+    }
+}
@@ -0,0 +1,67 @@
+package persistence;
+
+import model.DueDate;
+import model.Priority;
+import model.Status;
+import model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import parsers.TaskParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJsonTaskWriter {
+    private List<Task> tasks;
+
+    @BeforeEach
+    public void runBefore() {
+        tasks = new ArrayList<>();
+        Task first = new Task("Register for the course ## cpsc210; important");
+        first.setDueDate(new DueDate());
+        first.setStatus(Status.IN_PROGRESS);
+        Task second = new Task("Download the syllabus");
+        second.setPriority(new Priority(3));
+        tasks.add(first);
+        tasks.add(second);
+    }
+
+    @Test
+    public void testWriteIndented() throws IOException {
+        assertEquals(Jsonifier.taskListToJson(tasks).toString(JsonTaskWriter.INDENT_FACTOR), write(tasks, false));
+    }
+
+    @Test
+    public void testWriteCompact() throws IOException {
+        assertEquals(Jsonifier.taskListToJson(tasks).toString(), write(tasks, true));
+    }
+
+    @Test
+    public void testWriteEmpty() throws IOException {
+        assertEquals("[]", write(new ArrayList<>(), false));
+        assertEquals("[]", write(new ArrayList<>(), true));
+    }
+
+    @Test
+    public void testWriteChannelReadBack() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new JsonTaskWriter(Channels.newChannel(output), true).write(tasks);
+
+        List<Task> parsed = new TaskParser().parse(new String(output.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(tasks, parsed);
+        assertTrue(parsed.get(0).containsTag("cpsc210"));
+    }
+
+    private String write(List<Task> tasks, boolean compact) throws IOException {
+        StringWriter output = new StringWriter();
+        new JsonTaskWriter(output, compact).write(tasks);
+        return output.toString();
+    }
+}
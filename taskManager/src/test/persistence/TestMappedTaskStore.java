@@ -0,0 +1,120 @@
+package persistence;
+
+import model.DueDate;
+import model.Priority;
+import model.Status;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMappedTaskStore {
+    private File file;
+    private List<Task> tasks;
+
+    @BeforeEach
+    public void runBefore() throws IOException {
+        file = File.createTempFile("tasks", ".store");
+        tasks = new ArrayList<>();
+        Task first = new Task("Register for the course ## cpsc210; important; in progress");
+        first.setDueDate(new DueDate());
+        first.setProgress(75);
+        first.setEstimatedTimeToComplete(12);
+        Task second = new Task("Download the syllabus ## cpsc210; reading");
+        second.setStatus(Status.DONE);
+        second.setPriority(new Priority(3));
+        tasks.add(first);
+        tasks.add(second);
+        tasks.add(new Task("Ünïcödé description"));
+        MappedTaskStore.write(file, tasks);
+    }
+
+    @AfterEach
+    public void runAfter() {
+        file.delete();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        MappedTaskStore store = MappedTaskStore.open(file);
+        assertEquals(3, store.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = store.get(i);
+            assertEquals(tasks.get(i), task);
+            assertEquals(tasks.get(i).getTags(), task.getTags());
+            assertEquals(tasks.get(i).getId(), task.getId());
+            assertEquals(tasks.get(i).getProgress(), task.getProgress());
+            assertEquals(tasks.get(i).getEstimatedTimeToComplete(), task.getEstimatedTimeToComplete());
+        }
+    }
+
+    @Test
+    public void testMaterializedOnce() throws IOException {
+        MappedTaskStore store = MappedTaskStore.open(file);
+        assertSame(store.get(1), store.get(1));
+    }
+
+    @Test
+    public void testHeader() throws IOException {
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        assertTrue(MappedTaskStore.isMappedFormat(bytes));
+        assertFalse(MappedTaskStore.isMappedFormat("[]".getBytes()));
+    }
+
+    @Test
+    public void testOpenNotAStore() throws IOException {
+        Files.write(file.toPath(), new byte[MappedTaskStore.HEADER_SIZE]);
+        try {
+            MappedTaskStore.open(file);
+            fail("Should have thrown IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        MappedTaskStore.write(file, new ArrayList<>());
+        assertTrue(MappedTaskStore.open(file).asList().isEmpty());
+    }
+
+    @Test
+    public void testListModifications() throws IOException {
+        List<Task> list = MappedTaskStore.open(file).asList();
+        Task added = new Task("added");
+        Task replacement = new Task("replacement");
+
+        assertEquals(tasks, list);
+        list.add(added);
+        list.remove(0);
+        list.set(1, replacement);
+        list.add(0, tasks.get(0));
+
+        List<Task> expected = new ArrayList<>(tasks);
+        expected.add(added);
+        expected.remove(0);
+        expected.set(1, replacement);
+        expected.add(0, tasks.get(0));
+        assertEquals(expected, list);
+        assertEquals(4, list.size());
+    }
+
+    @Test
+    public void testListIndexOutOfBounds() throws IOException {
+        List<Task> list = MappedTaskStore.open(file).asList();
+        try {
+            list.get(3);
+            fail("Should have thrown IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+}
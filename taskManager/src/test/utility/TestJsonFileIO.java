@@ -0,0 +1,98 @@
+package utility;
+
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestJsonFileIO {
+    private File dataFile;
+    private File journalFile;
+
+    @BeforeEach
+    public void runBefore() throws IOException {
+        dataFile = File.createTempFile("tasks", ".json");
+        dataFile.delete();
+        journalFile = new File(dataFile.getPath() + ".journal");
+        JsonFileIO.useFiles(dataFile, journalFile);
+        JsonFileIO.read();
+        JsonFileIO.setFormat(StorageFormat.JSON);
+    }
+
+    @AfterEach
+    public void runAfter() {
+        dataFile.delete();
+        journalFile.delete();
+        JsonFileIO.useFiles(JsonFileIO.jsonDataFile, JsonFileIO.journalFile);
+    }
+
+    @Test
+    public void testReadJournalWithoutSnapshot() {
+        List<Task> tasks = JsonFileIO.read();
+        assertTrue(tasks.isEmpty());
+        JsonFileIO.addTask(tasks, new Task("first"));
+        JsonFileIO.addTask(tasks, new Task("second"));
+        assertFalse(dataFile.exists());
+
+        assertEquals(tasks, JsonFileIO.read());
+        assertFalse(JsonFileIO.hasReadFailed());
+    }
+
+    @Test
+    public void testRemoveTask() {
+        List<Task> tasks = JsonFileIO.read();
+        Task first = new Task("first");
+        JsonFileIO.addTask(tasks, first);
+        JsonFileIO.removeTask(tasks, new Task("first"));
+        assertEquals(1, tasks.size());
+
+        JsonFileIO.removeTask(tasks, Task.restore(first.getId(), "first"));
+        assertTrue(tasks.isEmpty());
+        assertTrue(JsonFileIO.read().isEmpty());
+    }
+
+    @Test
+    public void testReadTruncatedFile() throws IOException {
+        JsonFileIO.write(Arrays.asList(new Task("first"), new Task("second"), new Task("third")));
+        try (RandomAccessFile file = new RandomAccessFile(dataFile, "rw")) {
+            file.setLength(file.length() / 2);
+        }
+        assertReadFails();
+    }
+
+    @Test
+    public void testReadEmptyFile() throws IOException {
+        assertTrue(dataFile.createNewFile());
+        assertReadFails();
+    }
+
+    @Test
+    public void testReadCorruptBinaryFile() throws IOException {
+        JsonFileIO.setFormat(StorageFormat.BINARY);
+        JsonFileIO.write(Arrays.asList(new Task("first"), new Task("second"), new Task("third")));
+        byte[] bytes = Files.readAllBytes(dataFile.toPath());
+        for (int i = 8; i < bytes.length; i++) {
+            bytes[i] = (byte) 0xff;
+        }
+        Files.write(dataFile.toPath(), bytes);
+        assertReadFails();
+    }
+
+    // EFFECTS: asserts that dataFile cannot be read, and is then not saved over
+    private void assertReadFails() throws IOException {
+        byte[] contents = Files.readAllBytes(dataFile.toPath());
+        assertTrue(JsonFileIO.read().isEmpty());
+        assertTrue(JsonFileIO.hasReadFailed());
+        JsonFileIO.write(Arrays.asList(new Task("other")));
+        assertArrayEquals(contents, Files.readAllBytes(dataFile.toPath()));
+    }
+}
@@ -0,0 +1,65 @@
+package utility;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLongMap {
+    private LongMap<String> map;
+
+    @BeforeEach
+    public void runBefore() {
+        map = new LongMap<>();
+    }
+
+    @Test
+    public void testEmpty() {
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(0));
+        assertNull(map.remove(1));
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-7, "minus seven"));
+        assertNull(map.put(Long.MAX_VALUE, "max"));
+        assertEquals("zero", map.put(0, "nil"));
+        assertEquals(3, map.size());
+        assertEquals("nil", map.get(0));
+        assertEquals("minus seven", map.get(-7));
+        assertTrue(map.containsKey(Long.MAX_VALUE));
+
+        assertEquals("minus seven", map.remove(-7));
+        assertFalse(map.containsKey(-7));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+    }
+
+    @Test
+    public void testSameAsHashMap() {
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(210);
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, "value " + i), map.put(key, "value " + i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 2000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package utility;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPersistenceService {
+    private PersistenceService service;
+    private List<String> writes;
+
+    @BeforeEach
+    public void runBefore() {
+        service = new PersistenceService(60000);
+        writes = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @AfterEach
+    public void runAfter() {
+        service.shutdown();
+    }
+
+    @Test
+    public void testWritesHeldBackUntilFlush() {
+        service.execute(() -> writes.add("first"));
+        service.execute(() -> writes.add("second"));
+        assertTrue(writes.isEmpty());
+
+        service.flush();
+        assertEquals(2, writes.size());
+        assertEquals("first", writes.get(0));
+        assertEquals("second", writes.get(1));
+    }
+
+    @Test
+    public void testWritesOnWriterThread() {
+        List<Thread> threads = new ArrayList<>();
+        service.execute(() -> threads.add(Thread.currentThread()));
+        service.flush();
+        assertEquals(1, threads.size());
+        assertNotSame(Thread.currentThread(), threads.get(0));
+        assertTrue(threads.get(0).isDaemon());
+    }
+
+    @Test
+    public void testFailedWriteDoesNotStopOthers() {
+        service.execute(() -> {
+            throw new IllegalStateException("disk full");
+        });
+        service.execute(() -> writes.add("after"));
+        assertFalse(service.flush());
+        assertEquals(1, writes.size());
+        service.execute(() -> writes.add("again"));
+        assertTrue(service.flush());
+    }
+
+    @Test
+    public void testBurstCoalescedAfterQuietPeriod() throws InterruptedException {
+        PersistenceService quick = new PersistenceService(50);
+        List<Long> times = Collections.synchronizedList(new ArrayList<>());
+        long lastRequest = 0;
+        for (int i = 0; i < 10; i++) {
+            lastRequest = System.nanoTime();
+            quick.execute(() -> times.add(System.nanoTime()));
+        }
+        waitForWrites(times, 10);
+        assertEquals(10, times.size());
+        assertTrue(times.get(0) - lastRequest >= TimeUnit.MILLISECONDS.toNanos(50), "written before quiet period");
+        assertTrue(times.get(9) - times.get(0) < TimeUnit.MILLISECONDS.toNanos(50), "written in several batches");
+        quick.shutdown();
+    }
+
+    @Test
+    public void testContinuousWritesFlushedAfterMaxDelay() throws InterruptedException {
+        PersistenceService quick = new PersistenceService(50, 200);
+        assertEquals(200, quick.getMaxDelay());
+        assertEquals(500, new PersistenceService(50).getMaxDelay());
+        long start = System.nanoTime();
+        while (writes.isEmpty() && System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5)) {
+            quick.execute(() -> writes.add("write"));
+            Thread.sleep(10);
+        }
+        long waited = System.nanoTime() - start;
+        assertFalse(writes.isEmpty());
+        assertTrue(waited >= TimeUnit.MILLISECONDS.toNanos(200), "written before max delay");
+        assertTrue(waited < TimeUnit.MILLISECONDS.toNanos(1000), "max delay not enforced");
+        quick.shutdown();
+    }
+
+    // EFFECTS: waits until list has count elements, for at most 5 seconds
+    private static void waitForWrites(List<?> list, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (list.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRoaringBitmap {
+
+    @Test
+    public void testAddRemoveContains() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        assertTrue(bitmap.isEmpty());
+        bitmap.add(5);
+        bitmap.add(70000);
+        bitmap.add(5);
+        bitmap.add(Integer.MAX_VALUE);
+        assertEquals(3, bitmap.getCardinality());
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(70000));
+        assertTrue(bitmap.contains(Integer.MAX_VALUE));
+        assertFalse(bitmap.contains(6));
+        assertFalse(bitmap.contains(-1));
+
+        bitmap.remove(70000);
+        bitmap.remove(-5);
+        assertFalse(bitmap.contains(70000));
+        assertEquals(2, bitmap.getCardinality());
+
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        assertEquals(5, (int) values.get(0));
+        assertEquals(Integer.MAX_VALUE, (int) values.get(1));
+    }
+
+    @Test
+    public void testDenseChunk() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < 65536; i += 2) {
+            bitmap.add(i);
+        }
+        assertEquals(32768, bitmap.getCardinality());
+        assertTrue(bitmap.contains(4096));
+        assertFalse(bitmap.contains(4097));
+        for (int i = 0; i < 65536; i += 4) {
+            bitmap.remove(i);
+        }
+        assertEquals(16384, bitmap.getCardinality());
+        assertFalse(bitmap.contains(4096));
+        assertTrue(bitmap.contains(4098));
+    }
+
+    @Test
+    public void testSetOperationsAgainstBitSet() {
+        Random random = new Random(210);
+        for (int round = 0; round < 20; round++) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            RoaringBitmap a = randomBitmap(random, expectedA);
+            RoaringBitmap b = randomBitmap(random, expectedB);
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+            BitSet andNot = (BitSet) expectedA.clone();
+            andNot.andNot(expectedB);
+
+            assertSame(and, RoaringBitmap.and(a, b));
+            assertSame(or, RoaringBitmap.or(a, b));
+            assertSame(andNot, RoaringBitmap.andNot(a, b));
+            assertEquals(and.cardinality(), RoaringBitmap.andCardinality(a, b));
+            assertSame(expectedA, a);
+            assertSame(expectedB, b);
+        }
+    }
+
+    // EFFECTS: returns a bitmap of random values that are also set in expected; chunks are sparse or dense
+    private static RoaringBitmap randomBitmap(Random random, BitSet expected) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int chunk = 0; chunk < 4; chunk++) {
+            int count = random.nextBoolean() ? random.nextInt(3000) : 3000 + random.nextInt(40000);
+            for (int i = 0; i < count; i++) {
+                int value = (chunk << 16) | random.nextInt(65536);
+                bitmap.add(value);
+                expected.set(value);
+            }
+        }
+        return bitmap;
+    }
+
+    // EFFECTS: asserts that actual has exactly the values set in expected
+    private static void assertSame(BitSet expected, RoaringBitmap actual) {
+        BitSet values = new BitSet();
+        actual.forEach(values::set);
+        assertEquals(expected, values);
+        assertEquals(expected.cardinality(), actual.getCardinality());
+    }
+}
@@ -0,0 +1,143 @@
+package utility;
+
+import model.Priority;
+import model.Status;
+import model.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import parsers.TaskParser;
+import persistence.JsonTaskWriter;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTaskJournal {
+    private File snapshotFile;
+    private File journalFile;
+    private TaskJournal journal;
+    private List<Task> snapshot;
+
+    @BeforeEach
+    public void runBefore() throws IOException {
+        snapshotFile = File.createTempFile("tasks", ".json");
+        journalFile = new File(snapshotFile.getPath() + ".journal");
+        journal = new TaskJournal(journalFile, snapshotFile);
+        snapshot = new ArrayList<>();
+        snapshot.add(new Task("first"));
+        snapshot.add(new Task("second"));
+        snapshot.add(new Task("third"));
+        try (Writer writer = new FileWriter(snapshotFile)) {
+            new JsonTaskWriter(writer, true).write(snapshot);
+        }
+    }
+
+    @AfterEach
+    public void runAfter() {
+        snapshotFile.delete();
+        journalFile.delete();
+    }
+
+    @Test
+    public void testReplayNoJournal() throws IOException {
+        List<Task> tasks = new ArrayList<>(snapshot);
+        journal.replay(tasks);
+        assertEquals(snapshot, tasks);
+        assertEquals(0, journal.getNumEntries());
+    }
+
+    @Test
+    public void testReplayAllOperations() throws IOException {
+        Task edited = Task.restore(snapshot.get(1).getId(), "second, edited");
+        edited.setPriority(new Priority(3));
+        journal.append(TaskJournal.addEntry(new Task("fourth")));
+        journal.append(TaskJournal.updateEntry(edited));
+        journal.append(TaskJournal.removeEntry(snapshot.get(0).getId()));
+        journal.append(TaskJournal.statusEntry(snapshot.get(1).getId(), Status.DONE));
+        assertEquals(4, journal.getNumEntries());
+
+        List<Task> tasks = new ArrayList<>(snapshot);
+        TaskJournal reopened = new TaskJournal(journalFile, snapshotFile);
+        reopened.replay(tasks);
+        assertEquals(4, reopened.getNumEntries());
+        assertEquals(3, tasks.size());
+        assertEquals("second, edited", tasks.get(0).getDescription());
+        assertEquals(snapshot.get(1).getId(), tasks.get(0).getId());
+        assertTrue(tasks.get(0).getPriority().isUrgent());
+        assertEquals(Status.DONE, tasks.get(0).getStatus());
+        assertEquals("third", tasks.get(1).getDescription());
+        assertEquals("fourth", tasks.get(2).getDescription());
+    }
+
+    @Test
+    public void testReplayOnReadSnapshot() throws IOException {
+        journal.append(TaskJournal.statusEntry(snapshot.get(2).getId(), Status.IN_PROGRESS));
+        journal.append(TaskJournal.removeEntry(snapshot.get(1).getId()));
+        journal.append(TaskJournal.removeEntry(snapshot.get(1).getId()));
+
+        List<Task> tasks = new TaskParser().parse(new String(Files.readAllBytes(snapshotFile.toPath())));
+        journal.replay(tasks);
+        assertEquals(2, tasks.size());
+        assertEquals(snapshot.get(0).getId(), tasks.get(0).getId());
+        assertEquals(snapshot.get(2).getId(), tasks.get(1).getId());
+        assertEquals(Status.IN_PROGRESS, tasks.get(1).getStatus());
+    }
+
+    @Test
+    public void testReplaySkipsTornEntry() throws IOException {
+        journal.append(TaskJournal.addEntry(new Task("fourth")));
+        try (Writer writer = new FileWriter(journalFile, true)) {
+            writer.write("{\"op\":\"remove\",\"i");
+        }
+
+        List<Task> tasks = new ArrayList<>(snapshot);
+        journal.replay(tasks);
+        assertEquals(4, tasks.size());
+    }
+
+    @Test
+    public void testAppendAfterTornEntry() throws IOException {
+        journal.append(TaskJournal.addEntry(new Task("fourth")));
+        try (Writer writer = new FileWriter(journalFile, true)) {
+            writer.write("{\"op\":\"remove\",\"i");
+        }
+        journal.append(TaskJournal.addEntry(new Task("fifth")));
+        journal.append(TaskJournal.removeEntry(snapshot.get(0).getId()));
+
+        List<Task> tasks = new ArrayList<>(snapshot);
+        TaskJournal reopened = new TaskJournal(journalFile, snapshotFile);
+        reopened.replay(tasks);
+        assertEquals(4, tasks.size());
+        assertEquals("second", tasks.get(0).getDescription());
+        assertEquals("fourth", tasks.get(2).getDescription());
+        assertEquals("fifth", tasks.get(3).getDescription());
+    }
+
+    @Test
+    public void testReplayStaleJournal() throws IOException {
+        journal.append(TaskJournal.removeEntry(snapshot.get(0).getId()));
+        try (Writer writer = new FileWriter(snapshotFile, true)) {
+            writer.write(" ");
+        }
+
+        List<Task> tasks = new ArrayList<>(snapshot);
+        journal.replay(tasks);
+        assertEquals(3, tasks.size());
+        assertFalse(journalFile.exists());
+    }
+
+    @Test
+    public void testClear() throws IOException {
+        journal.append(TaskJournal.removeEntry(snapshot.get(0).getId()));
+        journal.clear();
+        assertEquals(0, journal.getNumEntries());
+        assertFalse(journalFile.exists());
+    }
+}